@@ -0,0 +1,31 @@
+package com.project.back_end.DTO;
+
+public class AuthPrincipal {
+
+    private final String role;
+    private final Long id;
+    private final String identifier;
+
+    public AuthPrincipal(String role, Long id, String identifier) {
+        this.role = role;
+        this.id = id;
+        this.identifier = identifier;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    // Email for doctors and patients, username for admins
+    public String getIdentifier() {
+        return identifier;
+    }
+
+    public boolean hasRole(String role) {
+        return this.role.equalsIgnoreCase(role);
+    }
+}
@@ -0,0 +1,54 @@
+package com.project.back_end.DTO;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class RecurringAppointment {
+
+    private Long doctorId;
+    private LocalDateTime firstAppointmentTime;
+    private int intervalDays = 7;
+    private int occurrences;
+
+    public Long getDoctorId() {
+        return doctorId;
+    }
+
+    public void setDoctorId(Long doctorId) {
+        this.doctorId = doctorId;
+    }
+
+    public LocalDateTime getFirstAppointmentTime() {
+        return firstAppointmentTime;
+    }
+
+    public void setFirstAppointmentTime(LocalDateTime firstAppointmentTime) {
+        this.firstAppointmentTime = firstAppointmentTime;
+    }
+
+    public int getIntervalDays() {
+        return intervalDays;
+    }
+
+    public void setIntervalDays(int intervalDays) {
+        this.intervalDays = intervalDays;
+    }
+
+    public int getOccurrences() {
+        return occurrences;
+    }
+
+    public void setOccurrences(int occurrences) {
+        this.occurrences = occurrences;
+    }
+
+    // Expands the series into its individual appointment times
+    public List<LocalDateTime> toAppointmentTimes() {
+        List<LocalDateTime> times = new ArrayList<>(occurrences);
+        for (int i = 0; i < occurrences; i++) {
+            times.add(firstAppointmentTime.plusDays((long) i * intervalDays));
+        }
+        return times;
+    }
+}
@@ -0,0 +1,70 @@
+package com.project.back_end.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.back_end.DTO.AuthPrincipal;
+import com.project.back_end.services.TokenService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+/**
+ * Verifies the JWT of {@link Authenticated} handlers exactly once per request and exposes the
+ * resolved {@link AuthPrincipal} as the {@link #PRINCIPAL_ATTRIBUTE} request attribute.
+ */
+@Component
+public class AuthInterceptor implements HandlerInterceptor {
+
+    public static final String PRINCIPAL_ATTRIBUTE = "authPrincipal";
+
+    private final TokenService tokenService;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public AuthInterceptor(TokenService tokenService, ObjectMapper objectMapper) {
+        this.tokenService = tokenService;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request,
+                             @NonNull HttpServletResponse response,
+                             @NonNull Object handler) throws Exception {
+        if (!(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+
+        Authenticated authenticated = handlerMethod.getMethodAnnotation(Authenticated.class);
+        if (authenticated == null) {
+            return true;
+        }
+
+        @SuppressWarnings("unchecked")
+        Map<String, String> pathVariables = (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+
+        String token = pathVariables != null ? pathVariables.get("token") : null;
+        String role = authenticated.roleVariable().isEmpty()
+                ? authenticated.role()
+                : (pathVariables != null ? pathVariables.get(authenticated.roleVariable()) : null);
+
+        AuthPrincipal principal = (token != null && role != null) ? tokenService.resolvePrincipal(token, role) : null;
+
+        if (principal == null) {
+            response.setStatus(HttpStatus.UNAUTHORIZED.value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(), Map.of("error", "Invalid or expired token"));
+            return false;
+        }
+
+        request.setAttribute(PRINCIPAL_ATTRIBUTE, principal);
+        return true;
+    }
+}
@@ -0,0 +1,20 @@
+package com.project.back_end.config;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a handler whose {token} path variable must be verified by {@link AuthInterceptor}
+ * before the handler runs. The role is either fixed via {@link #role()} or read from the
+ * path variable named by {@link #roleVariable()}.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Authenticated {
+
+    String role() default "";
+
+    String roleVariable() default "";
+}
@@ -0,0 +1,28 @@
+package com.project.back_end.config;
+
+import com.project.back_end.models.Prescription;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.mapping.event.BeforeConvertCallback;
+import org.springframework.stereotype.Component;
+
+/**
+ * Gives every new prescription an ObjectId before it is written, for saves and bulk inserts
+ * alike. An ObjectId starts with its creation second, so ids sort by creation time and the
+ * _id index serves "created between" and "latest N" queries without a separate date field.
+ */
+@Component
+public class PrescriptionIdCallback implements BeforeConvertCallback<Prescription> {
+
+    @Override
+    public Prescription onBeforeConvert(Prescription prescription, String collection) {
+        return assignId(prescription);
+    }
+
+    // Also called where a prescription needs its id before it reaches Mongo
+    public static Prescription assignId(Prescription prescription) {
+        if (prescription.getId() == null) {
+            prescription.setId(new ObjectId().toHexString());
+        }
+        return prescription;
+    }
+}
@@ -0,0 +1,53 @@
+package com.project.back_end.config;
+
+import com.project.back_end.models.Prescription;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates the indexes declared with @Indexed on Prescription once the application is up.
+ * Boot leaves automatic index creation off, so without this the annotations do nothing.
+ * It runs on its own thread: an unreachable Mongo only logs a warning instead of holding up
+ * or failing startup, and existing indexes are left as they are.
+ */
+@Component
+public class PrescriptionIndexes {
+
+    private static final Logger logger = LoggerFactory.getLogger(PrescriptionIndexes.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final MongoMappingContext mappingContext;
+
+    @Autowired
+    public PrescriptionIndexes(MongoTemplate mongoTemplate, MongoMappingContext mappingContext) {
+        this.mongoTemplate = mongoTemplate;
+        this.mappingContext = mappingContext;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureInBackground() {
+        Thread thread = new Thread(this::ensure, "prescription-indexes");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    void ensure() {
+        try {
+            IndexOperations indexOps = mongoTemplate.indexOps(Prescription.class);
+            IndexResolver resolver = new MongoPersistentEntityIndexResolver(mappingContext);
+            resolver.resolveIndexFor(Prescription.class).forEach(indexOps::ensureIndex);
+            logger.info("Prescription indexes ensured");
+        } catch (Exception e) {
+            logger.warn("Could not ensure prescription indexes; lookups by appointment will scan", e);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.project.back_end.config;
+
+import com.project.back_end.repo.PrescriptionRepository;
+import com.project.back_end.repo.ReactivePrescriptionRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.data.mongo.MongoReactiveDataAutoConfiguration;
+import org.springframework.boot.autoconfigure.mongo.MongoReactiveAutoConfiguration;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.repository.config.EnableMongoRepositories;
+import org.springframework.data.mongodb.repository.config.EnableReactiveMongoRepositories;
+
+/**
+ * The reactive Mongo client, template and ReactivePrescriptionRepository are only needed
+ * when prescription.reactive.enabled=true. BackEndApplication excludes their
+ * auto-configuration, so by default no second Mongo connection pool is opened.
+ * A plain @Import, because @ImportAutoConfiguration drops classes excluded there; the client
+ * comes first since the template is conditional on it. Enabling the reactive repositories
+ * makes Boot's blocking repository auto-configuration back off, so those are enabled here too.
+ */
+@Configuration
+@ConditionalOnProperty(name = "prescription.reactive.enabled", havingValue = "true")
+@Import({MongoReactiveAutoConfiguration.class, MongoReactiveDataAutoConfiguration.class})
+@EnableMongoRepositories(basePackageClasses = PrescriptionRepository.class)
+@EnableReactiveMongoRepositories(basePackageClasses = ReactivePrescriptionRepository.class)
+public class ReactiveMongoConfig {
+}
@@ -0,0 +1,19 @@
+package com.project.back_end.config;
+
+import com.project.back_end.models.Prescription;
+import org.reactivestreams.Publisher;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.mapping.event.ReactiveBeforeConvertCallback;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+// Same as PrescriptionIdCallback, for writes made through the reactive repository
+@Component
+@ConditionalOnProperty(name = "prescription.reactive.enabled", havingValue = "true")
+public class ReactivePrescriptionIdCallback implements ReactiveBeforeConvertCallback<Prescription> {
+
+    @Override
+    public Publisher<Prescription> onBeforeConvert(Prescription prescription, String collection) {
+        return Mono.just(PrescriptionIdCallback.assignId(prescription));
+    }
+}
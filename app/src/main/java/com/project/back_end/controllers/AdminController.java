@@ -1,27 +1,119 @@
 package com.project.back_end.controllers;
 
+import com.project.back_end.config.Authenticated;
 import com.project.back_end.models.Admin;
+import com.project.back_end.services.AppointmentExportService;
+import com.project.back_end.services.PrescriptionCache;
+import com.project.back_end.services.PrescriptionService;
 import com.project.back_end.services.Service;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
 import java.util.Map;
 
 @RestController
 @RequestMapping("${api.path}" + "admin")
 public class AdminController {
 
+    private static final int MAX_EXPORT_DAYS = 366;
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final Service service;
+    private final AppointmentExportService appointmentExportService;
+    private final PrescriptionCache prescriptionCache;
+    private final PrescriptionService prescriptionService;
 
     @Autowired
-    public AdminController(Service service) {
+    public AdminController(Service service, AppointmentExportService appointmentExportService,
+                           PrescriptionCache prescriptionCache, PrescriptionService prescriptionService) {
         this.service = service;
+        this.appointmentExportService = appointmentExportService;
+        this.prescriptionCache = prescriptionCache;
+        this.prescriptionService = prescriptionService;
     }
 
     @PostMapping
     public ResponseEntity<Map<String, String>> adminLogin(@RequestBody Admin admin) {
         return service.validateAdmin(admin);
     }
-}
 
+    // All appointments from one date to another, both inclusive
+    @GetMapping("/appointments/export/{token}")
+    @Authenticated(role = "admin")
+    public ResponseEntity<?> exportAppointments(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "ndjson") String format) {
+
+        AppointmentExportService.Format exportFormat = AppointmentExportService.Format.of(format);
+        if (exportFormat == null) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("error", "Format must be ndjson or csv"));
+        }
+        long days = ChronoUnit.DAYS.between(from, to) + 1;
+        if (days < 1 || days > MAX_EXPORT_DAYS) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("error",
+                "Date range must be between 1 and " + MAX_EXPORT_DAYS + " days"));
+        }
+
+        StreamingResponseBody body = out -> appointmentExportService.exportAppointmentsBetween(
+            from.atStartOfDay(), to.plusDays(1).atStartOfDay(), exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"appointments-" + from + "-to-" + to + "." + exportFormat.getExtension() + "\"")
+                .body(body);
+    }
+
+    // Size and hit/miss counters of the prescription cache
+    @GetMapping("/cache/prescriptions/{token}")
+    @Authenticated(role = "admin")
+    public ResponseEntity<Map<String, Object>> prescriptionCacheStats() {
+        return ResponseEntity.ok(prescriptionCache.stats());
+    }
+
+    // Prescriptions written from one date to another, both inclusive, oldest first
+    @GetMapping("/prescriptions/{token}")
+    @Authenticated(role = "admin")
+    public ResponseEntity<Map<String, Object>> getPrescriptionsCreatedBetween(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+
+        if (to.isBefore(from)) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("error", "from must not be after to"));
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("error",
+                "Page size must be between 1 and " + MAX_PAGE_SIZE));
+        }
+
+        ZoneId zone = ZoneId.systemDefault();
+        try {
+            return ResponseEntity.ok(prescriptionService.getPrescriptionsCreatedBetween(
+                from.atStartOfDay(zone).toInstant(), to.plusDays(1).atStartOfDay(zone).toInstant(), cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("error", "Invalid cursor"));
+        }
+    }
+
+    // The most recently written prescriptions, newest first
+    @GetMapping("/prescriptions/latest/{token}")
+    @Authenticated(role = "admin")
+    public ResponseEntity<Map<String, Object>> getLatestPrescriptions(@RequestParam(defaultValue = "20") int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("error",
+                "Limit must be between 1 and " + MAX_PAGE_SIZE));
+        }
+        return ResponseEntity.ok(prescriptionService.getLatestPrescriptions(limit));
+    }
+}
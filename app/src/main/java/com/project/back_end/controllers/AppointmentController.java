@@ -1,5 +1,9 @@
 package com.project.back_end.controllers;
 
+import com.project.back_end.DTO.AuthPrincipal;
+import com.project.back_end.DTO.RecurringAppointment;
+import com.project.back_end.config.AuthInterceptor;
+import com.project.back_end.config.Authenticated;
 import com.project.back_end.models.Appointment;
 import com.project.back_end.services.AppointmentService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -14,6 +18,8 @@ import java.util.Map;
 @RequestMapping("/appointments")
 public class AppointmentController {
 
+    private static final int MAX_RECURRING_OCCURRENCES = 52;
+
     private final AppointmentService appointmentService;
     private final com.project.back_end.services.Service service;
 
@@ -24,88 +30,96 @@ public class AppointmentController {
     }
 
     @GetMapping("/{date}/{patientName}/{token}")
+    @Authenticated(role = "doctor")
     public ResponseEntity<?> getAppointments(
             @PathVariable String date,
             @PathVariable String patientName,
-            @PathVariable String token) {
-        
-        // Validate token for doctor role
-        ResponseEntity<Map<String, String>> validationResult = service.validateToken(token, "doctor");
-        
-        if (validationResult.getStatusCode() != HttpStatus.OK) {
-            return validationResult;
-        }
+            @RequestAttribute(AuthInterceptor.PRINCIPAL_ATTRIBUTE) AuthPrincipal doctor) {
         
         // Fetch appointments for the given date and patient name
         LocalDate appointmentDate = LocalDate.parse(date);
-        Map<String, Object> appointments = appointmentService.getAppointment(patientName, appointmentDate, token);
+        Map<String, Object> appointments = appointmentService.getAppointment(patientName, appointmentDate, doctor.getId());
         
         return ResponseEntity.ok(appointments);
     }
 
     @PostMapping("/{token}")
+    @Authenticated(role = "patient")
     public ResponseEntity<?> bookAppointment(
             @RequestBody Appointment appointment,
-            @PathVariable String token) {
+            @RequestAttribute(AuthInterceptor.PRINCIPAL_ATTRIBUTE) AuthPrincipal patient) {
         
-        // Validate token for patient role
-        ResponseEntity<Map<String, String>> tokenValidation = service.validateToken(token, "patient");
-        
-        if (tokenValidation.getStatusCode() != HttpStatus.OK) {
-            return tokenValidation;
-        }
-        
-        // Validate appointment data
-        int appointmentValidation = service.validateAppointment(
-            appointment.getDoctor().getId(),
-            appointment.getAppointmentTime()
-        );
+        // Validate and book the appointment atomically for its slot
+        int result = appointmentService.bookAppointment(appointment, patient.getId());
         
-        if (appointmentValidation == -1) {
+        if (result == 1) {
+            return ResponseEntity.status(HttpStatus.CREATED).body(Map.of("message", "Appointment booked successfully"));
+        } else if (result == -1) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("error", "Invalid doctor ID"));
-        } else if (appointmentValidation == 0) {
+        } else if (result == -2) {
             return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", "Appointment slot already booked"));
+        } else {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of("error", "Failed to book appointment"));
+        }
+    }
+
+    @PostMapping("/recurring/{token}")
+    @Authenticated(role = "patient")
+    public ResponseEntity<?> bookRecurringAppointments(
+            @RequestBody RecurringAppointment recurring,
+            @RequestAttribute(AuthInterceptor.PRINCIPAL_ATTRIBUTE) AuthPrincipal patient) {
+        
+        if (recurring.getDoctorId() == null || recurring.getFirstAppointmentTime() == null
+                || recurring.getOccurrences() < 1 || recurring.getOccurrences() > MAX_RECURRING_OCCURRENCES
+                || recurring.getIntervalDays() < 1) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("error",
+                "doctorId, firstAppointmentTime, intervalDays >= 1 and 1-" + MAX_RECURRING_OCCURRENCES + " occurrences are required"));
         }
         
-        // Book the appointment
-        int result = appointmentService.bookAppointment(appointment);
+        // Validate and book the whole series in one go
+        return appointmentService.bookRecurring(recurring.getDoctorId(), patient.getId(), recurring.toAppointmentTimes());
+    }
+
+    @PostMapping("/hold/{token}")
+    @Authenticated(role = "patient")
+    public ResponseEntity<?> holdAppointment(
+            @RequestBody Appointment appointment,
+            @RequestAttribute(AuthInterceptor.PRINCIPAL_ATTRIBUTE) AuthPrincipal patient) {
+        
+        // Validate the slot and hold it for this patient while they confirm
+        int result = service.validateAppointment(
+            appointment.getDoctor().getId(),
+            appointment.getAppointmentTime(),
+            patient.getId()
+        );
         
         if (result == 1) {
-            return ResponseEntity.status(HttpStatus.CREATED).body(Map.of("message", "Appointment booked successfully"));
+            return ResponseEntity.ok(Map.of("message", "Appointment slot held",
+                "expiresInSeconds", appointmentService.getHoldTtlSeconds()));
+        } else if (result == -1) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("error", "Invalid doctor ID"));
         } else {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of("error", "Failed to book appointment"));
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", "Appointment slot not available"));
         }
     }
 
     @PutMapping("/{token}")
+    @Authenticated(role = "patient")
     public ResponseEntity<?> updateAppointment(
             @RequestBody Appointment appointment,
-            @PathVariable String token) {
-        
-        // Validate token for patient role
-        ResponseEntity<Map<String, String>> tokenValidation = service.validateToken(token, "patient");
-        
-        if (tokenValidation.getStatusCode() != HttpStatus.OK) {
-            return tokenValidation;
-        }
+            @RequestAttribute(AuthInterceptor.PRINCIPAL_ATTRIBUTE) AuthPrincipal patient) {
         
         // Update the appointment
-        return appointmentService.updateAppointment(appointment);
+        return appointmentService.updateAppointment(appointment, patient.getId());
     }
 
     @DeleteMapping("/{id}/{token}")
+    @Authenticated(role = "patient")
     public ResponseEntity<?> cancelAppointment(
             @PathVariable Long id,
-            @PathVariable String token) {
-        
-        // Validate token for patient role
-        ResponseEntity<Map<String, String>> tokenValidation = service.validateToken(token, "patient");
-        
-        if (tokenValidation.getStatusCode() != HttpStatus.OK) {
-            return tokenValidation;
-        }
+            @RequestAttribute(AuthInterceptor.PRINCIPAL_ATTRIBUTE) AuthPrincipal patient) {
         
         // Cancel the appointment
-        return appointmentService.cancelAppointment(id, token);
+        return appointmentService.cancelAppointment(id, patient.getId());
     }
 }
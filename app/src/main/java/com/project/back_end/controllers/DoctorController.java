@@ -1,14 +1,17 @@
 package com.project.back_end.controllers;
 
 import com.project.back_end.DTO.Login;
+import com.project.back_end.config.Authenticated;
 import com.project.back_end.models.Doctor;
 import com.project.back_end.services.DoctorService;
+import com.project.back_end.services.SlotSearchService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -17,28 +20,32 @@ import java.util.Map;
 @RequestMapping("${api.path}" + "doctor")
 public class DoctorController {
 
+    private static final int MAX_GRID_DOCTORS = 100;
+    private static final int MAX_GRID_DAYS = 31;
+    private static final int MAX_SEARCH_RESULTS = 50;
+    private static final int MAX_SEARCH_DAYS = 90;
+    // Matches @BatchSize on Doctor.availableTimes so a page's schedules load in one query
+    private static final int MAX_PAGE_SIZE = 50;
+    private static final int MAX_SUGGESTIONS = 20;
+
     private final DoctorService doctorService;
+    private final SlotSearchService slotSearchService;
     private final com.project.back_end.services.Service service;
 
     @Autowired
-    public DoctorController(DoctorService doctorService, com.project.back_end.services.Service service) {
+    public DoctorController(DoctorService doctorService,
+                            SlotSearchService slotSearchService,
+                            com.project.back_end.services.Service service) {
         this.doctorService = doctorService;
+        this.slotSearchService = slotSearchService;
         this.service = service;
     }
 
     @GetMapping("/availability/{user}/{doctorId}/{date}/{token}")
+    @Authenticated(roleVariable = "user")
     public ResponseEntity<?> getDoctorAvailability(
-            @PathVariable String user,
             @PathVariable Long doctorId,
-            @PathVariable String date,
-            @PathVariable String token) {
-        
-        // Validate token
-        ResponseEntity<Map<String, String>> tokenValidation = service.validateToken(token, user);
-        
-        if (tokenValidation.getStatusCode() != HttpStatus.OK) {
-            return tokenValidation;
-        }
+            @PathVariable String date) {
         
         // Get doctor availability
         LocalDate appointmentDate = LocalDate.parse(date);
@@ -49,25 +56,76 @@ public class DoctorController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/availability/grid/{user}/{token}")
+    @Authenticated(roleVariable = "user")
+    public ResponseEntity<?> getAvailabilityGrid(
+            @RequestParam List<Long> doctorIds,
+            @RequestParam String from,
+            @RequestParam String to) {
+        
+        LocalDate fromDate = LocalDate.parse(from);
+        LocalDate toDate = LocalDate.parse(to);
+        
+        if (doctorIds.isEmpty() || doctorIds.size() > MAX_GRID_DOCTORS || toDate.isBefore(fromDate)
+                || ChronoUnit.DAYS.between(fromDate, toDate) >= MAX_GRID_DAYS) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("error",
+                "Request 1-" + MAX_GRID_DOCTORS + " doctors over at most " + MAX_GRID_DAYS + " days"));
+        }
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("availability", doctorService.getAvailabilityGrid(doctorIds, fromDate, toDate));
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/nextAvailable/{specialty}/{user}/{token}")
+    @Authenticated(roleVariable = "user")
+    public ResponseEntity<?> getNextAvailableSlots(
+            @PathVariable String specialty,
+            @RequestParam(defaultValue = "5") int limit,
+            @RequestParam(defaultValue = "30") int days) {
+        
+        if (limit < 1 || limit > MAX_SEARCH_RESULTS || days < 1 || days > MAX_SEARCH_DAYS) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("error",
+                "limit must be 1-" + MAX_SEARCH_RESULTS + " and days 1-" + MAX_SEARCH_DAYS));
+        }
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("slots", slotSearchService.findNextAvailable(specialty, limit, days));
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping
-    public ResponseEntity<Map<String, Object>> getDoctor() {
+    public ResponseEntity<Map<String, Object>> getDoctor(
+            @RequestParam(defaultValue = "id") String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("error",
+                "Page size must be between 1 and " + MAX_PAGE_SIZE));
+        }
+
+        try {
+            return ResponseEntity.ok(doctorService.getDoctorPage(sort, cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("error", "Invalid sort or cursor"));
+        }
+    }
+
+    @GetMapping("/suggest")
+    public ResponseEntity<Map<String, Object>> suggestDoctors(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "8") int limit) {
+
         Map<String, Object> response = new HashMap<>();
-        List<Doctor> doctors = doctorService.getDoctors();
-        response.put("doctors", doctors);
+        response.put("suggestions", doctorService.suggestDoctors(q, Math.max(0, Math.min(limit, MAX_SUGGESTIONS))));
         return ResponseEntity.ok(response);
     }
 
     @PostMapping("/{token}")
+    @Authenticated(role = "admin")
     public ResponseEntity<?> saveDoctor(
-            @RequestBody Doctor doctor,
-            @PathVariable String token) {
-        
-        // Validate token for admin role
-        ResponseEntity<Map<String, String>> tokenValidation = service.validateToken(token, "admin");
-        
-        if (tokenValidation.getStatusCode() != HttpStatus.OK) {
-            return tokenValidation;
-        }
+            @RequestBody Doctor doctor) {
         
         // Attempt to save doctor
         int result = doctorService.saveDoctor(doctor);
@@ -87,16 +145,9 @@ public class DoctorController {
     }
 
     @PutMapping("/{token}")
+    @Authenticated(role = "admin")
     public ResponseEntity<?> updateDoctor(
-            @RequestBody Doctor doctor,
-            @PathVariable String token) {
-        
-        // Validate token for admin role
-        ResponseEntity<Map<String, String>> tokenValidation = service.validateToken(token, "admin");
-        
-        if (tokenValidation.getStatusCode() != HttpStatus.OK) {
-            return tokenValidation;
-        }
+            @RequestBody Doctor doctor) {
         
         // Attempt to update doctor
         int result = doctorService.updateDoctor(doctor);
@@ -111,16 +162,9 @@ public class DoctorController {
     }
 
     @DeleteMapping("/{id}/{token}")
+    @Authenticated(role = "admin")
     public ResponseEntity<?> deleteDoctor(
-            @PathVariable Long id,
-            @PathVariable String token) {
-        
-        // Validate token for admin role
-        ResponseEntity<Map<String, String>> tokenValidation = service.validateToken(token, "admin");
-        
-        if (tokenValidation.getStatusCode() != HttpStatus.OK) {
-            return tokenValidation;
-        }
+            @PathVariable Long id) {
         
         // Attempt to delete doctor
         int result = doctorService.deleteDoctor(id);
@@ -140,7 +184,12 @@ public class DoctorController {
             @PathVariable String time,
             @PathVariable String speciality) {
         
-        Map<String, Object> response = service.filterDoctor(name, time, speciality);
+        Map<String, Object> response = service.filterDoctor(filterValue(name), filterValue(speciality), filterValue(time));
         return ResponseEntity.ok(response);
     }
+
+    // The frontend sends "null" for a filter left empty
+    private static String filterValue(String value) {
+        return "null".equalsIgnoreCase(value) ? null : value;
+    }
 }
\ No newline at end of file
@@ -1,12 +1,19 @@
 package com.project.back_end.controllers;
 
+import com.project.back_end.DTO.AuthPrincipal;
 import com.project.back_end.DTO.Login;
+import com.project.back_end.config.AuthInterceptor;
+import com.project.back_end.config.Authenticated;
 import com.project.back_end.models.Patient;
+import com.project.back_end.services.AppointmentExportService;
 import com.project.back_end.services.PatientService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.Map;
 
@@ -14,27 +21,26 @@ import java.util.Map;
 @RequestMapping("/patient")
 public class PatientController {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final PatientService patientService;
     private final com.project.back_end.services.Service service;
+    private final AppointmentExportService appointmentExportService;
 
     @Autowired
-    public PatientController(PatientService patientService, com.project.back_end.services.Service service) {
+    public PatientController(PatientService patientService, com.project.back_end.services.Service service,
+                             AppointmentExportService appointmentExportService) {
         this.patientService = patientService;
         this.service = service;
+        this.appointmentExportService = appointmentExportService;
     }
 
     @GetMapping("/{token}")
-    public ResponseEntity<?> getPatient(@PathVariable String token) {
-        
-        // Validate token for patient role
-        ResponseEntity<Map<String, String>> tokenValidation = service.validateToken(token, "patient");
-        
-        if (tokenValidation.getStatusCode() != HttpStatus.OK) {
-            return tokenValidation;
-        }
+    @Authenticated(role = "patient")
+    public ResponseEntity<?> getPatient(@RequestAttribute(AuthInterceptor.PRINCIPAL_ATTRIBUTE) AuthPrincipal patient) {
         
         // Get patient details
-        return patientService.getPatientDetails(token);
+        return patientService.getPatientDetails(patient.getId());
     }
 
     @PostMapping
@@ -65,37 +71,61 @@ public class PatientController {
     }
 
     @GetMapping("/{id}/{token}")
+    @Authenticated(role = "patient")
     public ResponseEntity<?> getPatientAppointment(
             @PathVariable Long id,
-            @PathVariable String token) {
-        
-        // Validate token for patient role
-        ResponseEntity<Map<String, String>> tokenValidation = service.validateToken(token, "patient");
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestAttribute(AuthInterceptor.PRINCIPAL_ATTRIBUTE) AuthPrincipal patient) {
         
-        if (tokenValidation.getStatusCode() != HttpStatus.OK) {
-            return tokenValidation;
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("error",
+                "Page size must be between 1 and " + MAX_PAGE_SIZE));
         }
-        
+
         // Get patient appointments
-        return patientService.getPatientAppointment(id, token);
+        return patientService.getPatientAppointment(id, patient.getId(), cursor, size);
     }
 
     @GetMapping("/filter/{condition}/{name}/{token}")
+    @Authenticated(role = "patient")
     public ResponseEntity<?> filterPatientAppointment(
             @PathVariable String condition,
             @PathVariable String name,
-            @PathVariable String token) {
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestAttribute(AuthInterceptor.PRINCIPAL_ATTRIBUTE) AuthPrincipal patient) {
         
-        // Validate token for patient role
-        ResponseEntity<Map<String, String>> tokenValidation = service.validateToken(token, "patient");
-        
-        if (tokenValidation.getStatusCode() != HttpStatus.OK) {
-            return tokenValidation;
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("error",
+                "Page size must be between 1 and " + MAX_PAGE_SIZE));
         }
-        
+
         // Filter patient appointments
-        return service.filterPatient(condition, name, token);
+        return service.filterPatient(condition, name, patient.getId(), cursor, size);
     }
-}
 
+    @GetMapping("/{id}/export/{token}")
+    @Authenticated(role = "patient")
+    public ResponseEntity<?> exportPatientAppointments(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestAttribute(AuthInterceptor.PRINCIPAL_ATTRIBUTE) AuthPrincipal patient) {
+
+        if (!patient.getId().equals(id)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("error", "Unauthorized access"));
+        }
+        AppointmentExportService.Format exportFormat = AppointmentExportService.Format.of(format);
+        if (exportFormat == null) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("error", "Format must be ndjson or csv"));
+        }
 
+        // Rows are written as they are read; nothing is buffered per request
+        StreamingResponseBody body = out -> appointmentExportService.exportPatientAppointments(id, exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"appointments-" + id + "." + exportFormat.getExtension() + "\"")
+                .body(body);
+    }
+}
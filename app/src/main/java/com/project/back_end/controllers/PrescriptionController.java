@@ -1,57 +1,75 @@
 package com.project.back_end.controllers;
 
+import com.project.back_end.config.Authenticated;
 import com.project.back_end.models.Prescription;
 import com.project.back_end.services.PrescriptionService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.Map;
 
+// Blocking endpoints; ReactivePrescriptionController serves the same routes when reactive is enabled
 @RestController
 @RequestMapping("${api.path}" + "prescription")
+@ConditionalOnProperty(name = "prescription.reactive.enabled", havingValue = "false", matchIfMissing = true)
 public class PrescriptionController {
 
+    static final int MAX_BATCH_SIZE = 200;
+
     private final PrescriptionService prescriptionService;
-    private final com.project.back_end.services.Service service;
 
     @Autowired
-    public PrescriptionController(PrescriptionService prescriptionService, 
-                                   com.project.back_end.services.Service service) {
+    public PrescriptionController(PrescriptionService prescriptionService) {
         this.prescriptionService = prescriptionService;
-        this.service = service;
     }
 
     @PostMapping("/{token}")
+    @Authenticated(role = "doctor")
     public ResponseEntity<?> savePrescription(
-            @RequestBody Prescription prescription,
-            @PathVariable String token) {
-        
-        // Validate token for doctor role
-        ResponseEntity<Map<String, String>> tokenValidation = service.validateToken(token, "doctor");
-        
-        if (tokenValidation.getStatusCode() != HttpStatus.OK) {
-            return tokenValidation;
-        }
+            @RequestBody Prescription prescription) {
         
         // Save prescription
         return prescriptionService.savePrescription(prescription);
     }
 
+    @PostMapping("/bulk/{token}")
+    @Authenticated(role = "doctor")
+    public ResponseEntity<?> savePrescriptions(
+            @RequestBody List<Prescription> prescriptions) {
+
+        if (prescriptions.isEmpty() || prescriptions.size() > MAX_BATCH_SIZE) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("error",
+                "Send between 1 and " + MAX_BATCH_SIZE + " prescriptions per request"));
+        }
+
+        // Save all prescriptions in one bulk write, reporting each item
+        return prescriptionService.savePrescriptions(prescriptions);
+    }
+
     @GetMapping("/{appointmentId}/{token}")
+    @Authenticated(role = "doctor")
     public ResponseEntity<?> getPrescription(
-            @PathVariable Long appointmentId,
-            @PathVariable String token) {
-        
-        // Validate token for doctor role
-        ResponseEntity<Map<String, String>> tokenValidation = service.validateToken(token, "doctor");
-        
-        if (tokenValidation.getStatusCode() != HttpStatus.OK) {
-            return tokenValidation;
-        }
+            @PathVariable Long appointmentId) {
         
         // Get prescription by appointment ID
         return prescriptionService.getPrescription(appointmentId);
     }
+
+    @GetMapping("/batch/{token}")
+    @Authenticated(role = "doctor")
+    public ResponseEntity<?> getPrescriptions(
+            @RequestParam List<Long> appointmentIds) {
+
+        if (appointmentIds.size() > MAX_BATCH_SIZE) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("error",
+                "At most " + MAX_BATCH_SIZE + " appointment ids per request"));
+        }
+
+        // Get prescriptions for all appointments in one lookup
+        return prescriptionService.getPrescriptions(appointmentIds);
+    }
 }
@@ -0,0 +1,82 @@
+package com.project.back_end.controllers;
+
+import com.project.back_end.config.Authenticated;
+import com.project.back_end.models.Prescription;
+import com.project.back_end.services.PrescriptionService;
+import com.project.back_end.services.ReactivePrescriptionService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.Map;
+
+import static com.project.back_end.controllers.PrescriptionController.MAX_BATCH_SIZE;
+
+// Same routes as PrescriptionController; returning Mono makes Spring MVC finish the request asynchronously
+@RestController
+@RequestMapping("${api.path}" + "prescription")
+@ConditionalOnProperty(name = "prescription.reactive.enabled", havingValue = "true")
+public class ReactivePrescriptionController {
+
+    private final ReactivePrescriptionService reactivePrescriptionService;
+    private final PrescriptionService prescriptionService;
+
+    @Autowired
+    public ReactivePrescriptionController(ReactivePrescriptionService reactivePrescriptionService,
+                                          PrescriptionService prescriptionService) {
+        this.reactivePrescriptionService = reactivePrescriptionService;
+        this.prescriptionService = prescriptionService;
+    }
+
+    @PostMapping("/{token}")
+    @Authenticated(role = "doctor")
+    public Mono<ResponseEntity<Map<String, String>>> savePrescription(
+            @RequestBody Prescription prescription) {
+
+        // Save prescription
+        return reactivePrescriptionService.savePrescription(prescription);
+    }
+
+    @PostMapping("/bulk/{token}")
+    @Authenticated(role = "doctor")
+    public Mono<ResponseEntity<Map<String, Object>>> savePrescriptions(
+            @RequestBody List<Prescription> prescriptions) {
+
+        if (prescriptions.isEmpty() || prescriptions.size() > MAX_BATCH_SIZE) {
+            return Mono.just(ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("error",
+                "Send between 1 and " + MAX_BATCH_SIZE + " prescriptions per request")));
+        }
+
+        // The bulk write is blocking; run it off the servlet thread
+        return Mono.fromCallable(() -> prescriptionService.savePrescriptions(prescriptions))
+            .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @GetMapping("/{appointmentId}/{token}")
+    @Authenticated(role = "doctor")
+    public Mono<ResponseEntity<Map<String, Object>>> getPrescription(
+            @PathVariable Long appointmentId) {
+
+        // Get prescription by appointment ID
+        return reactivePrescriptionService.getPrescription(appointmentId);
+    }
+
+    @GetMapping("/batch/{token}")
+    @Authenticated(role = "doctor")
+    public Mono<ResponseEntity<Map<String, Object>>> getPrescriptions(
+            @RequestParam List<Long> appointmentIds) {
+
+        if (appointmentIds.size() > MAX_BATCH_SIZE) {
+            return Mono.just(ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("error",
+                "At most " + MAX_BATCH_SIZE + " appointment ids per request")));
+        }
+
+        // Get prescriptions for all appointments in one lookup
+        return reactivePrescriptionService.getPrescriptions(appointmentIds);
+    }
+}
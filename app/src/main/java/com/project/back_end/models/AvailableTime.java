@@ -1,13 +1,21 @@
 package com.project.back_end.models;
 
 import jakarta.persistence.*;
+import java.time.DayOfWeek;
 import java.time.LocalTime;
 
 @Embeddable
 public class AvailableTime {
     
+    // Null means every day of the week
+    @Enumerated(EnumType.STRING)
+    private DayOfWeek dayOfWeek;
+
     private LocalTime startTime;
 
+    // Null means a single slot starting at startTime
+    private LocalTime endTime;
+
     public AvailableTime() {
     }
 
@@ -15,6 +23,20 @@ public class AvailableTime {
         this.startTime = startTime;
     }
 
+    public AvailableTime(DayOfWeek dayOfWeek, LocalTime startTime, LocalTime endTime) {
+        this.dayOfWeek = dayOfWeek;
+        this.startTime = startTime;
+        this.endTime = endTime;
+    }
+
+    public DayOfWeek getDayOfWeek() {
+        return dayOfWeek;
+    }
+
+    public void setDayOfWeek(DayOfWeek dayOfWeek) {
+        this.dayOfWeek = dayOfWeek;
+    }
+
     public LocalTime getStartTime() {
         return startTime;
     }
@@ -22,4 +44,12 @@ public class AvailableTime {
     public void setStartTime(LocalTime startTime) {
         this.startTime = startTime;
     }
+
+    public LocalTime getEndTime() {
+        return endTime;
+    }
+
+    public void setEndTime(LocalTime endTime) {
+        this.endTime = endTime;
+    }
 }
@@ -5,6 +5,7 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonProperty.Access;
+import org.hibernate.annotations.BatchSize;
 
 @Entity
 public class Doctor {
@@ -35,8 +36,14 @@ public class Doctor {
     private String password;
 
     @ElementCollection
+    @BatchSize(size = 50)
     private List<AvailableTime> availableTimes;
 
+    @ElementCollection
+    @BatchSize(size = 50)
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
+    private List<ScheduleException> scheduleExceptions;
+
     public Long getId() {
         return id;
     }
@@ -85,4 +92,10 @@ public class Doctor {
     public void setAvailableTimes(List<AvailableTime> availableTimes) {
         this.availableTimes = availableTimes;
     }
+    public List<ScheduleException> getScheduleExceptions() {
+        return scheduleExceptions;
+    }
+    public void setScheduleExceptions(List<ScheduleException> scheduleExceptions) {
+        this.scheduleExceptions = scheduleExceptions;
+    }
 }
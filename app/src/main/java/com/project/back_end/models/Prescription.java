@@ -1,19 +1,25 @@
 package com.project.back_end.models;
 
-import jakarta.persistence.*;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.validation.constraints.*;
+import org.bson.types.ObjectId;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 @Document(collection="prescriptions")
 public class Prescription {
+    // Hex ObjectId assigned on insert by PrescriptionIdCallback; ids sort by creation time
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Long id;
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private String id;
 
     @Size(min=3, max=100)
     @NotNull(message = "Patient name cannot be null")
     private String patientName;
 
+    // Created at startup by PrescriptionIndexes
     @NotNull(message = "Appointment ID cannot be null")
+    @Indexed(name = "idx_appointment_id")
     private Long appointmentId;
 
     @Size(min=3, max=100)
@@ -25,6 +31,9 @@ public class Prescription {
     @Size(max=200)
     private String doctorNotes;
 
+    public Prescription() {
+    }
+
     Prescription(String patientName, Long appointmentId) {
         this.patientName = patientName;
         this.appointmentId = appointmentId;
@@ -38,12 +47,16 @@ public class Prescription {
         this.doctorNotes = doctorNotes;
     }
 
-    public Long getId() {
+    public String getId() {
         return id;
     }
-    public void setId(Long id) {
+    public void setId(String id) {
         this.id = id;
     }
+    // Second-precision creation time read from the id; null before the first save
+    public java.time.Instant getCreatedAt() {
+        return id != null && ObjectId.isValid(id) ? new ObjectId(id).getDate().toInstant() : null;
+    }
     public String getPatientName() {
         return patientName;
     }
@@ -0,0 +1,10 @@
+package com.project.back_end.repo;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface AppointmentBatchRepository {
+
+    // Inserts one scheduled appointment per time in a single JDBC batch
+    int[] insertScheduledBatch(Long doctorId, Long patientId, List<LocalDateTime> appointmentTimes);
+}
@@ -0,0 +1,33 @@
+package com.project.back_end.repo;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class AppointmentBatchRepositoryImpl implements AppointmentBatchRepository {
+
+    private static final String INSERT_SQL =
+        "INSERT INTO appointment (appointment_time, status, doctor_id, patient_id) VALUES (?, 0, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public AppointmentBatchRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public int[] insertScheduledBatch(Long doctorId, Long patientId, List<LocalDateTime> appointmentTimes) {
+        // IDENTITY keys keep Hibernate from batching, so go through JDBC; with
+        // rewriteBatchedStatements the MySQL driver sends this as one multi-row INSERT
+        List<Object[]> rows = new ArrayList<>(appointmentTimes.size());
+        for (LocalDateTime time : appointmentTimes) {
+            rows.add(new Object[] {Timestamp.valueOf(time), doctorId, patientId});
+        }
+        return jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+    }
+}
@@ -1,45 +1,110 @@
 package com.project.back_end.repo;
 
+import com.project.back_end.DTO.AppointmentDTO;
 import com.project.back_end.models.Appointment;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface AppointmentRepository extends JpaRepository<Appointment, Long> {
+public interface AppointmentRepository extends JpaRepository<Appointment, Long>, AppointmentBatchRepository {
 
-    @Query("SELECT a FROM Appointment a LEFT JOIN FETCH a.doctor d LEFT JOIN FETCH d.availableTimes WHERE a.doctor.id = :doctorId AND a.appointmentTime BETWEEN :start AND :end")
+    @Query("SELECT a FROM Appointment a JOIN FETCH a.doctor d LEFT JOIN FETCH d.availableTimes WHERE a.doctor.id = :doctorId AND a.appointmentTime BETWEEN :start AND :end")
     List<Appointment> findByDoctorIdAndAppointmentTimeBetween(@Param("doctorId") Long doctorId, 
                                                                 @Param("start") LocalDateTime start, 
                                                                 @Param("end") LocalDateTime end);
 
-    @Query("SELECT a FROM Appointment a LEFT JOIN FETCH a.patient p LEFT JOIN FETCH a.doctor d WHERE a.doctor.id = :doctorId AND LOWER(a.patient.name) LIKE LOWER(CONCAT('%', :patientName, '%')) AND a.appointmentTime BETWEEN :start AND :end")
+    @Query("SELECT a.appointmentTime FROM Appointment a WHERE a.doctor.id = :doctorId AND a.appointmentTime BETWEEN :start AND :end")
+    List<LocalDateTime> findAppointmentTimesByDoctorIdAndAppointmentTimeBetween(@Param("doctorId") Long doctorId,
+                                                                               @Param("start") LocalDateTime start,
+                                                                               @Param("end") LocalDateTime end);
+
+    @Query("SELECT a.doctor.id, a.appointmentTime FROM Appointment a WHERE a.doctor.id IN :doctorIds AND a.appointmentTime BETWEEN :start AND :end")
+    List<Object[]> findDoctorIdAndAppointmentTimeByDoctorIdInAndAppointmentTimeBetween(@Param("doctorIds") Collection<Long> doctorIds,
+                                                                                      @Param("start") LocalDateTime start,
+                                                                                      @Param("end") LocalDateTime end);
+
+    @Query("SELECT a FROM Appointment a JOIN FETCH a.patient p JOIN FETCH a.doctor d WHERE a.doctor.id = :doctorId AND LOWER(a.patient.name) LIKE LOWER(CONCAT('%', :patientName, '%')) AND a.appointmentTime BETWEEN :start AND :end")
     List<Appointment> findByDoctorIdAndPatient_NameContainingIgnoreCaseAndAppointmentTimeBetween(
             @Param("doctorId") Long doctorId, 
             @Param("patientName") String patientName, 
             @Param("start") LocalDateTime start, 
             @Param("end") LocalDateTime end);
 
+    // One bulk DELETE instead of loading every appointment and removing them one by one
     @Modifying
     @Transactional
-    void deleteAllByDoctorId(Long doctorId);
+    @Query("DELETE FROM Appointment a WHERE a.doctor.id = :doctorId")
+    void deleteAllByDoctorId(@Param("doctorId") Long doctorId);
+
+    // Patient listings project straight into the DTO: one statement, no entity graphs.
+    // They are keyset-paged on (appointmentTime, id); pass PageRequest.of(0, size) so no OFFSET is issued.
+    String DTO_SELECT = "SELECT new com.project.back_end.DTO.AppointmentDTO(a.id, d.id, d.name, p.id, p.name, "
+            + "p.email, p.phoneNumber, p.address, a.appointmentTime, a.status) "
+            + "FROM Appointment a JOIN a.doctor d JOIN a.patient p ";
+    // Written with a leading range on appointmentTime so the seek is an index range scan
+    String AFTER_POSITION = "AND a.appointmentTime >= :afterTime AND (a.appointmentTime > :afterTime OR a.id > :afterId) "
+            + "ORDER BY a.appointmentTime, a.id";
+
+    @Query(DTO_SELECT + "WHERE p.id = :patientId " + AFTER_POSITION)
+    List<AppointmentDTO> findDtosByPatientId(@Param("patientId") Long patientId,
+                                             @Param("afterTime") LocalDateTime afterTime,
+                                             @Param("afterId") Long afterId,
+                                             Pageable page);
+
+    @Query(DTO_SELECT + "WHERE p.id = :patientId AND a.status = :status " + AFTER_POSITION)
+    List<AppointmentDTO> findDtosByPatientIdAndStatus(@Param("patientId") Long patientId,
+                                                      @Param("status") int status,
+                                                      @Param("afterTime") LocalDateTime afterTime,
+                                                      @Param("afterId") Long afterId,
+                                                      Pageable page);
+
+    @Query(DTO_SELECT + "WHERE LOWER(d.name) LIKE LOWER(CONCAT('%', :doctorName, '%')) AND p.id = :patientId "
+            + AFTER_POSITION)
+    List<AppointmentDTO> filterDtosByDoctorNameAndPatientId(@Param("doctorName") String doctorName,
+                                                            @Param("patientId") Long patientId,
+                                                            @Param("afterTime") LocalDateTime afterTime,
+                                                            @Param("afterId") Long afterId,
+                                                            Pageable page);
 
-    List<Appointment> findByPatientId(Long patientId);
+    @Query(DTO_SELECT + "WHERE LOWER(d.name) LIKE LOWER(CONCAT('%', :doctorName, '%')) AND p.id = :patientId "
+            + "AND a.status = :status " + AFTER_POSITION)
+    List<AppointmentDTO> filterDtosByDoctorNameAndPatientIdAndStatus(@Param("doctorName") String doctorName,
+                                                                     @Param("patientId") Long patientId,
+                                                                     @Param("status") int status,
+                                                                     @Param("afterTime") LocalDateTime afterTime,
+                                                                     @Param("afterId") Long afterId,
+                                                                     Pageable page);
 
-    List<Appointment> findByPatient_IdAndStatusOrderByAppointmentTimeAsc(Long patientId, int status);
+    // Exports read forward-only in fetch-size chunks; close the stream inside the transaction.
+    // MySQL only honours the fetch size with useCursorFetch=true on the connection URL.
+    String EXPORT_SELECT = "SELECT a FROM Appointment a JOIN FETCH a.doctor d JOIN FETCH a.patient p ";
+    String EXPORT_FETCH_SIZE = "500";
 
-    @Query("SELECT a FROM Appointment a WHERE LOWER(a.doctor.name) LIKE LOWER(CONCAT('%', :doctorName, '%')) AND a.patient.id = :patientId")
-    List<Appointment> filterByDoctorNameAndPatientId(@Param("doctorName") String doctorName, 
-                                                       @Param("patientId") Long patientId);
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(EXPORT_SELECT + "WHERE p.id = :patientId ORDER BY a.appointmentTime, a.id")
+    Stream<Appointment> streamByPatientId(@Param("patientId") Long patientId);
 
-    @Query("SELECT a FROM Appointment a WHERE LOWER(a.doctor.name) LIKE LOWER(CONCAT('%', :doctorName, '%')) AND a.patient.id = :patientId AND a.status = :status")
-    List<Appointment> filterByDoctorNameAndPatientIdAndStatus(@Param("doctorName") String doctorName, 
-                                                                @Param("patientId") Long patientId, 
-                                                                @Param("status") int status);
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(EXPORT_SELECT + "WHERE a.appointmentTime >= :from AND a.appointmentTime < :to ORDER BY a.appointmentTime, a.id")
+    Stream<Appointment> streamByAppointmentTimeRange(@Param("from") LocalDateTime from,
+                                                     @Param("to") LocalDateTime to);
 }
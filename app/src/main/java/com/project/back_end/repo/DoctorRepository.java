@@ -1,24 +1,36 @@
 package com.project.back_end.repo;
 
 import com.project.back_end.models.Doctor;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface DoctorRepository extends JpaRepository<Doctor, Long> {
+public interface DoctorRepository extends JpaRepository<Doctor, Long>, JpaSpecificationExecutor<Doctor> {
 
     Doctor findByEmail(String email);
 
-    @Query("SELECT d FROM Doctor d WHERE d.name LIKE CONCAT('%', :name, '%')")
-    List<Doctor> findByNameLike(@Param("name") String name);
+    List<Doctor> findBySpecialtyIgnoreCase(String specialty);
 
-    @Query("SELECT d FROM Doctor d WHERE LOWER(d.name) LIKE LOWER(CONCAT('%', :name, '%')) AND LOWER(d.specialty) = LOWER(:specialty)")
-    List<Doctor> findByNameContainingIgnoreCaseAndSpecialtyIgnoreCase(@Param("name") String name, 
-                                                                        @Param("specialty") String specialty);
+    @Query("SELECT d.id, d.name FROM Doctor d")
+    List<Object[]> findAllIdsAndNames();
 
-    List<Doctor> findBySpecialtyIgnoreCase(String specialty);
+    @Query("SELECT d.id, d.name, d.specialty FROM Doctor d")
+    List<Object[]> findAllIdsNamesAndSpecialties();
+
+    // Keyset pages; callers pass PageRequest.of(0, size) so no OFFSET is ever issued
+    @Query("SELECT d FROM Doctor d WHERE d.id > :afterId ORDER BY d.id")
+    List<Doctor> findPageAfterId(@Param("afterId") Long afterId, Pageable page);
+
+    @Query("SELECT d FROM Doctor d WHERE d.name >= :afterName AND (d.name > :afterName OR d.id > :afterId) ORDER BY d.name, d.id")
+    List<Doctor> findPageAfterName(@Param("afterName") String afterName, @Param("afterId") Long afterId, Pageable page);
+
+    @Query("SELECT DISTINCT d FROM Doctor d LEFT JOIN FETCH d.availableTimes WHERE d.id IN :ids")
+    List<Doctor> findWithAvailableTimesByIdIn(@Param("ids") Collection<Long> ids);
 }
\ No newline at end of file
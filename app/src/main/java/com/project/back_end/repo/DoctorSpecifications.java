@@ -0,0 +1,74 @@
+package com.project.back_end.repo;
+
+import com.project.back_end.models.AvailableTime;
+import com.project.back_end.models.Doctor;
+import com.project.back_end.services.CompiledSchedule;
+import jakarta.persistence.criteria.*;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalTime;
+import java.util.Collection;
+
+/**
+ * Composable predicates for the doctor filter. Combined with {@code Specification.where(..).and(..)}
+ * they produce a single SELECT; the AM/PM filter is an EXISTS over doctor_available_times.
+ */
+public final class DoctorSpecifications {
+
+    private static final int NOON = 12 * 60;
+    private static final int SLOT = CompiledSchedule.SLOT_MINUTES;
+
+    private DoctorSpecifications() {
+    }
+
+    public static Specification<Doctor> nameContains(String name) {
+        return (root, query, cb) -> cb.like(cb.lower(root.get("name")), "%" + name.toLowerCase() + "%");
+    }
+
+    public static Specification<Doctor> idIn(Collection<Long> ids) {
+        return (root, query, cb) -> root.get("id").in(ids);
+    }
+
+    public static Specification<Doctor> specialtyIs(String specialty) {
+        return (root, query, cb) -> cb.equal(cb.lower(root.get("specialty")), specialty.toLowerCase());
+    }
+
+    /**
+     * "AM" or "PM"; any other value matches no doctor, as before. Mirrors how CompiledSchedule
+     * expands an interval: slots start at startTime and every SLOT_MINUTES after it while a
+     * whole slot fits before endTime, and a missing or non-increasing endTime is a single slot
+     * at startTime. So the AM test is the first slot, the PM test the last one.
+     */
+    public static Specification<Doctor> availableIn(String amOrPm) {
+        return (root, query, cb) -> {
+            Subquery<Integer> times = query.subquery(Integer.class);
+            Root<Doctor> doctor = times.correlate(root);
+            Join<Doctor, AvailableTime> time = doctor.join("availableTimes");
+            Path<LocalTime> end = time.get("endTime");
+            Expression<Integer> s = minuteOfDay(cb, time.get("startTime"));
+            Expression<Integer> e = minuteOfDay(cb, end);
+
+            Predicate single = cb.or(cb.isNull(end), cb.le(e, s));
+            Expression<Integer> lastStart = cb.diff(e, SLOT);
+            Predicate spans = cb.ge(lastStart, s);
+
+            Predicate window;
+            if ("AM".equalsIgnoreCase(amOrPm)) {
+                window = cb.and(cb.lt(s, NOON), cb.or(single, spans));
+            } else if ("PM".equalsIgnoreCase(amOrPm)) {
+                // Last slot start: the latest point on the slot grid that leaves room for a slot
+                Expression<Integer> lastSlot = cb.diff(lastStart, cb.mod(cb.diff(lastStart, s), SLOT));
+                window = cb.or(
+                    cb.and(single, cb.ge(s, NOON)),
+                    cb.and(spans, cb.ge(lastSlot, NOON)));
+            } else {
+                return cb.disjunction();
+            }
+            return cb.exists(times.select(cb.literal(1)).where(window));
+        };
+    }
+
+    private static Expression<Integer> minuteOfDay(CriteriaBuilder cb, Expression<LocalTime> time) {
+        return cb.sum(cb.prod(cb.function("hour", Integer.class, time), 60), cb.function("minute", Integer.class, time));
+    }
+}
@@ -0,0 +1,12 @@
+package com.project.back_end.repo;
+
+import com.project.back_end.models.Prescription;
+
+import java.util.List;
+import java.util.Map;
+
+public interface PrescriptionBulkRepository {
+
+    // Inserts all prescriptions in one unordered bulk write; returns error messages by list index
+    Map<Integer, String> insertUnordered(List<Prescription> prescriptions);
+}
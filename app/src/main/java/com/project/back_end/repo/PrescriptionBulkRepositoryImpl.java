@@ -0,0 +1,45 @@
+package com.project.back_end.repo;
+
+import com.mongodb.bulk.BulkWriteError;
+import com.project.back_end.models.Prescription;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class PrescriptionBulkRepositoryImpl implements PrescriptionBulkRepository {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Autowired
+    public PrescriptionBulkRepositoryImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Map<Integer, String> insertUnordered(List<Prescription> prescriptions) {
+        Map<Integer, String> errors = new HashMap<>();
+        if (prescriptions.isEmpty()) {
+            return errors;
+        }
+        try {
+            // Unordered: one failed document does not stop the rest of the batch
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Prescription.class)
+                .insert(prescriptions)
+                .execute();
+        } catch (BulkOperationException e) {
+            if (e.getErrors().isEmpty()) {
+                // Write concern failure: the outcome of every document is unknown
+                throw e;
+            }
+            for (BulkWriteError error : e.getErrors()) {
+                errors.put(error.getIndex(), error.getMessage());
+            }
+        }
+        return errors;
+    }
+}
@@ -1,14 +1,27 @@
 package com.project.back_end.repo;
 
 import com.project.back_end.models.Prescription;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface PrescriptionRepository extends MongoRepository<Prescription, String> {
+public interface PrescriptionRepository extends MongoRepository<Prescription, String>, PrescriptionBulkRepository {
 
     List<Prescription> findByAppointmentId(Long appointmentId);
+
+    // One query for many appointments; served by the appointmentId index
+    List<Prescription> findByAppointmentIdIn(Collection<Long> appointmentIds);
+
+    // Ids are time-ordered ObjectIds, so both of these are range scans of the _id index
+    @Query(value = "{ '_id': { '$gte': ?0, '$lt': ?1, '$gt': ?2 } }", sort = "{ '_id': 1 }")
+    List<Prescription> findCreatedBetween(ObjectId from, ObjectId to, ObjectId after, Pageable page);
+
+    List<Prescription> findAllByOrderByIdDesc(Pageable page);
 }
 
@@ -0,0 +1,17 @@
+package com.project.back_end.repo;
+
+import com.project.back_end.models.Prescription;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.util.Collection;
+
+// Non-blocking counterpart of PrescriptionRepository, used when prescription.reactive.enabled=true
+@Repository
+public interface ReactivePrescriptionRepository extends ReactiveMongoRepository<Prescription, String> {
+
+    Flux<Prescription> findByAppointmentId(Long appointmentId);
+
+    Flux<Prescription> findByAppointmentIdIn(Collection<Long> appointmentIds);
+}
@@ -0,0 +1,172 @@
+package com.project.back_end.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.project.back_end.DTO.AppointmentDTO;
+import com.project.back_end.models.Appointment;
+import com.project.back_end.repo.AppointmentRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+/**
+ * Writes appointment history row by row as NDJSON or CSV. Rows come from a forward-only
+ * stream and each entity is dropped from the persistence context once written, so memory
+ * use does not depend on how many appointments are exported.
+ */
+@Service
+public class AppointmentExportService {
+
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        // Null for anything but "ndjson" or "csv"
+        public static Format of(String value) {
+            if (value == null) {
+                return null;
+            }
+            try {
+                return valueOf(value.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+    }
+
+    private static final String CSV_HEADER = "id,appointmentTime,status,doctorId,doctorName,"
+            + "patientId,patientName,patientEmail,patientPhone,patientAddress";
+
+    private final AppointmentRepository appointmentRepository;
+    private final EntityManager entityManager;
+    private final ObjectWriter jsonWriter;
+
+    @Autowired
+    public AppointmentExportService(AppointmentRepository appointmentRepository,
+                                    EntityManager entityManager,
+                                    ObjectMapper objectMapper) {
+        this.appointmentRepository = appointmentRepository;
+        this.entityManager = entityManager;
+        this.jsonWriter = objectMapper.writerFor(AppointmentDTO.class);
+    }
+
+    // Returns the number of rows written
+    @Transactional(readOnly = true)
+    public long exportPatientAppointments(Long patientId, Format format, OutputStream out) throws IOException {
+        try (Stream<Appointment> rows = appointmentRepository.streamByPatientId(patientId)) {
+            return write(rows, format, out);
+        }
+    }
+
+    // Appointments in [from, to) across all doctors
+    @Transactional(readOnly = true)
+    public long exportAppointmentsBetween(LocalDateTime from, LocalDateTime to, Format format,
+                                          OutputStream out) throws IOException {
+        try (Stream<Appointment> rows = appointmentRepository.streamByAppointmentTimeRange(from, to)) {
+            return write(rows, format, out);
+        }
+    }
+
+    private long write(Stream<Appointment> rows, Format format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (format == Format.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        long count = 0;
+        Iterator<Appointment> iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            Appointment appointment = iterator.next();
+            AppointmentDTO row = toDto(appointment);
+            // Doctor and patient are fetched with each row, so clearing costs no extra queries
+            entityManager.clear();
+
+            if (format == Format.CSV) {
+                writeCsv(writer, row);
+            } else {
+                writer.write(jsonWriter.writeValueAsString(row));
+            }
+            writer.write('\n');
+            count++;
+        }
+        // Leave the response stream open for the caller
+        writer.flush();
+        return count;
+    }
+
+    private static AppointmentDTO toDto(Appointment appointment) {
+        return new AppointmentDTO(
+            appointment.getId(),
+            appointment.getDoctor().getId(),
+            appointment.getDoctor().getName(),
+            appointment.getPatient().getId(),
+            appointment.getPatient().getName(),
+            appointment.getPatient().getEmail(),
+            appointment.getPatient().getPhoneNumber(),
+            appointment.getPatient().getAddress(),
+            appointment.getAppointmentTime(),
+            appointment.getStatus()
+        );
+    }
+
+    private static void writeCsv(Writer writer, AppointmentDTO row) throws IOException {
+        writer.write(String.valueOf(row.getId()));
+        writer.write(',');
+        writer.write(row.getAppointmentTime().toString());
+        writer.write(',');
+        writer.write(String.valueOf(row.getStatus()));
+        writer.write(',');
+        writer.write(String.valueOf(row.getDoctorId()));
+        writer.write(',');
+        writer.write(csvField(row.getDoctorName()));
+        writer.write(',');
+        writer.write(String.valueOf(row.getPatientId()));
+        writer.write(',');
+        writer.write(csvField(row.getPatientName()));
+        writer.write(',');
+        writer.write(csvField(row.getPatientEmail()));
+        writer.write(',');
+        writer.write(csvField(row.getPatientPhone()));
+        writer.write(',');
+        writer.write(csvField(row.getPatientAddress()));
+    }
+
+    // RFC 4180 quoting; a leading formula character is neutralised for spreadsheet users
+    static String csvField(String value) {
+        if (value == null || value.isEmpty()) {
+            return "";
+        }
+        if ("=+-@".indexOf(value.charAt(0)) >= 0) {
+            value = "'" + value;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -1,57 +1,154 @@
 package com.project.back_end.services;
 
 import com.project.back_end.models.Appointment;
-import com.project.back_end.models.Doctor;
-import com.project.back_end.models.Patient;
 import com.project.back_end.repo.AppointmentRepository;
-import com.project.back_end.repo.DoctorRepository;
-import com.project.back_end.repo.PatientRepository;
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.sql.SQLException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.*;
+import java.util.concurrent.locks.Lock;
 
 @Service
 public class AppointmentService {
 
+    // The (doctor_id, appointment_time) unique key: the only violation that means "slot taken"
+    private static final String SLOT_CONSTRAINT = "uk_appointment_doctor_time";
+
     private final AppointmentRepository appointmentRepository;
-    private final PatientRepository patientRepository;
-    private final DoctorRepository doctorRepository;
-    private final TokenService tokenService;
     private final com.project.back_end.services.Service service;
+    private final BookedSlotIndex bookedSlotIndex;
+    private final DoctorService doctorService;
+    private final SlotLocks slotLocks;
+    private final SlotHoldRegistry slotHoldRegistry;
+    private final TransactionTemplate transactionTemplate;
 
     @Autowired
     public AppointmentService(AppointmentRepository appointmentRepository,
-                            PatientRepository patientRepository,
-                            DoctorRepository doctorRepository,
-                            TokenService tokenService,
-                            com.project.back_end.services.Service service) {
+                            com.project.back_end.services.Service service,
+                            BookedSlotIndex bookedSlotIndex,
+                            DoctorService doctorService,
+                            SlotLocks slotLocks,
+                            SlotHoldRegistry slotHoldRegistry,
+                            PlatformTransactionManager transactionManager) {
         this.appointmentRepository = appointmentRepository;
-        this.patientRepository = patientRepository;
-        this.doctorRepository = doctorRepository;
-        this.tokenService = tokenService;
         this.service = service;
+        this.bookedSlotIndex = bookedSlotIndex;
+        this.doctorService = doctorService;
+        this.slotLocks = slotLocks;
+        this.slotHoldRegistry = slotHoldRegistry;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
-    @Transactional
-    public int bookAppointment(Appointment appointment) {
+    // Returns 1 on success, -1 if the doctor does not exist, -2 if the slot is unavailable, 0 on error.
+    // Validation and insert run under the slot's lock, and the lock is held until the insert commits.
+    // A live hold by the same patient already validated the slot, so it is converted directly.
+    public int bookAppointment(Appointment appointment, Long patientId) {
+        Long doctorId = appointment.getDoctor().getId();
+        LocalDateTime appointmentTime = appointment.getAppointmentTime();
+
+        Lock lock = slotLocks.lockFor(doctorId, appointmentTime);
+        lock.lock();
         try {
-            appointmentRepository.save(appointment);
+            if (!slotHoldRegistry.isHeldBy(doctorId, appointmentTime, patientId)) {
+                int validation = doctorService.validateSlot(doctorId, appointmentTime, patientId);
+                if (validation != 1) {
+                    return validation == -1 ? -1 : -2;
+                }
+            }
+
+            transactionTemplate.executeWithoutResult(status -> {
+                appointmentRepository.saveAndFlush(appointment);
+                bookedSlotIndex.markBooked(doctorId, appointmentTime);
+            });
+            slotHoldRegistry.release(doctorId, appointmentTime);
             return 1;
+        } catch (DataIntegrityViolationException e) {
+            // Another instance booked the slot first, unless some other constraint failed
+            return isSlotConflict(e) ? -2 : 0;
         } catch (Exception e) {
             return 0;
+        } finally {
+            lock.unlock();
         }
     }
 
-    @Transactional
-    public ResponseEntity<Map<String, String>> updateAppointment(Appointment appointment) {
+    // Books a whole series for one patient: every slot is validated in one pass and all rows are
+    // inserted in one batch, so the series is booked completely or not at all
+    public ResponseEntity<Map<String, Object>> bookRecurring(Long doctorId, Long patientId, List<LocalDateTime> appointmentTimes) {
+        Map<String, Object> response = new HashMap<>();
+        LocalDateTime now = LocalDateTime.now();
+
+        if (appointmentTimes.isEmpty() || new HashSet<>(appointmentTimes).size() != appointmentTimes.size()
+                || appointmentTimes.stream().anyMatch(time -> !time.isAfter(now))) {
+            response.put("error", "Appointment times must be distinct and in the future");
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+        }
+
+        List<Lock> locks = slotLocks.locksFor(doctorId, appointmentTimes);
+        locks.forEach(Lock::lock);
+        try {
+            List<LocalDateTime> unavailable = doctorService.findUnavailableSlots(doctorId, appointmentTimes, patientId);
+            if (unavailable == null) {
+                response.put("error", "Invalid doctor ID");
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+            }
+            if (!unavailable.isEmpty()) {
+                response.put("error", "Some appointment slots are not available");
+                response.put("unavailable", unavailable);
+                return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+            }
+
+            transactionTemplate.executeWithoutResult(status -> {
+                appointmentRepository.insertScheduledBatch(doctorId, patientId, appointmentTimes);
+                appointmentTimes.forEach(time -> bookedSlotIndex.markBooked(doctorId, time));
+            });
+            appointmentTimes.forEach(time -> slotHoldRegistry.release(doctorId, time));
+
+            response.put("message", "Booked " + appointmentTimes.size() + " appointments");
+            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+
+        } catch (DataIntegrityViolationException e) {
+            if (!isSlotConflict(e)) {
+                response.put("error", "Failed to book appointments");
+                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+            }
+            response.put("error", "Some appointment slots are not available");
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+        } catch (Exception e) {
+            response.put("error", "Failed to book appointments: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        } finally {
+            for (int i = locks.size() - 1; i >= 0; i--) {
+                locks.get(i).unlock();
+            }
+        }
+    }
+
+    public long getHoldTtlSeconds() {
+        return slotHoldRegistry.getTtlSeconds();
+    }
+
+    // Not @Transactional: a duplicate key would mark the whole transaction rollback-only and the
+    // commit would fail after the 409 was chosen. Like bookAppointment, the new slot is validated
+    // and written under its lock, in a transaction of its own.
+    public ResponseEntity<Map<String, String>> updateAppointment(Appointment appointment, Long patientId) {
         Map<String, String> response = new HashMap<>();
+        Long doctorId = appointment.getDoctor().getId();
+        LocalDateTime appointmentTime = appointment.getAppointmentTime();
+
+        Lock lock = slotLocks.lockFor(doctorId, appointmentTime);
+        lock.lock();
         try {
             Optional<Appointment> existingAppointment = appointmentRepository.findById(appointment.getId());
             
@@ -62,43 +159,49 @@ public class AppointmentService {
 
             Appointment existing = existingAppointment.get();
             
-            if (!existing.getPatient().getId().equals(appointment.getPatient().getId())) {
+            if (!existing.getPatient().getId().equals(patientId)
+                    || !existing.getPatient().getId().equals(appointment.getPatient().getId())) {
                 response.put("error", "Patient ID mismatch");
                 return ResponseEntity.status(HttpStatus.FORBIDDEN).body(response);
             }
 
-            int validationResult = service.validateAppointment(
-                appointment.getDoctor().getId(),
-                appointment.getAppointmentTime()
-            );
+            int validationResult = service.validateAppointment(doctorId, appointmentTime);
 
             if (validationResult != 1) {
                 response.put("error", "Appointment time not available");
                 return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
             }
 
-            appointmentRepository.save(appointment);
+            Long previousDoctorId = existing.getDoctor().getId();
+            LocalDateTime previousTime = existing.getAppointmentTime();
+
+            transactionTemplate.executeWithoutResult(status -> {
+                appointmentRepository.saveAndFlush(appointment);
+                bookedSlotIndex.markFree(previousDoctorId, previousTime);
+                bookedSlotIndex.markBooked(doctorId, appointmentTime);
+            });
             response.put("message", "Appointment updated successfully");
             return ResponseEntity.ok(response);
 
+        } catch (DataIntegrityViolationException e) {
+            if (!isSlotConflict(e)) {
+                response.put("error", "Failed to update appointment");
+                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+            }
+            response.put("error", "Appointment time not available");
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
         } catch (Exception e) {
             response.put("error", "Failed to update appointment: " + e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        } finally {
+            lock.unlock();
         }
     }
 
     @Transactional
-    public ResponseEntity<Map<String, String>> cancelAppointment(long id, String token) {
+    public ResponseEntity<Map<String, String>> cancelAppointment(long id, Long patientId) {
         Map<String, String> response = new HashMap<>();
         try {
-            String patientEmail = tokenService.extractEmail(token);
-            Patient patient = patientRepository.findByEmail(patientEmail);
-
-            if (patient == null) {
-                response.put("error", "Patient not found");
-                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
-            }
-
             Optional<Appointment> appointmentOpt = appointmentRepository.findById(id);
             
             if (appointmentOpt.isEmpty()) {
@@ -108,12 +211,13 @@ public class AppointmentService {
 
             Appointment appointment = appointmentOpt.get();
 
-            if (!appointment.getPatient().getId().equals(patient.getId())) {
+            if (!appointment.getPatient().getId().equals(patientId)) {
                 response.put("error", "Unauthorized to cancel this appointment");
                 return ResponseEntity.status(HttpStatus.FORBIDDEN).body(response);
             }
 
             appointmentRepository.delete(appointment);
+            bookedSlotIndex.markFree(appointment.getDoctor().getId(), appointment.getAppointmentTime());
             response.put("message", "Appointment cancelled successfully");
             return ResponseEntity.ok(response);
 
@@ -124,17 +228,9 @@ public class AppointmentService {
     }
 
     @Transactional
-    public Map<String, Object> getAppointment(String pname, LocalDate date, String token) {
+    public Map<String, Object> getAppointment(String pname, LocalDate date, Long doctorId) {
         Map<String, Object> response = new HashMap<>();
         try {
-            String doctorEmail = tokenService.extractEmail(token);
-            Doctor doctor = doctorRepository.findByEmail(doctorEmail);
-
-            if (doctor == null) {
-                response.put("error", "Doctor not found");
-                return response;
-            }
-
             LocalDateTime startOfDay = date.atStartOfDay();
             LocalDateTime endOfDay = date.atTime(LocalTime.MAX);
 
@@ -142,11 +238,11 @@ public class AppointmentService {
 
             if (pname != null && !pname.isEmpty()) {
                 appointments = appointmentRepository.findByDoctorIdAndPatient_NameContainingIgnoreCaseAndAppointmentTimeBetween(
-                    doctor.getId(), pname, startOfDay, endOfDay
+                    doctorId, pname, startOfDay, endOfDay
                 );
             } else {
                 appointments = appointmentRepository.findByDoctorIdAndAppointmentTimeBetween(
-                    doctor.getId(), startOfDay, endOfDay
+                    doctorId, startOfDay, endOfDay
                 );
             }
 
@@ -158,4 +254,17 @@ public class AppointmentService {
             return response;
         }
     }
+
+    // Hibernate reports the violated constraint by name; the JDBC batch insert only has the
+    // driver's message, which names it too. FK, NOT NULL and length violations are not conflicts.
+    static boolean isSlotConflict(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            String detail = cause instanceof ConstraintViolationException violation ? violation.getConstraintName()
+                : cause instanceof SQLException ? cause.getMessage() : null;
+            if (detail != null && detail.toLowerCase(Locale.ROOT).contains(SLOT_CONSTRAINT)) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
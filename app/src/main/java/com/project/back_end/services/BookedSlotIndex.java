@@ -0,0 +1,147 @@
+package com.project.back_end.services;
+
+import com.project.back_end.repo.AppointmentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Booked appointment start times per (doctor, date), one bit per minute of the day.
+ * Bitsets are loaded lazily with a single time-only query, replaced copy-on-write when
+ * appointments change so readers never lock, and dropped once their date has passed.
+ * The query runs outside the map; a load that overlaps a change to its key is returned
+ * but not cached, so it cannot put back a bitset missing that change.
+ */
+@Component
+public class BookedSlotIndex {
+
+    public static final BitSet EMPTY = new BitSet();
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    private static final int VERSION_STRIPES = 64;
+
+    private final AppointmentRepository appointmentRepository;
+    private final Clock clock;
+    private final Map<Key, BitSet> booked = new ConcurrentHashMap<>();
+    // Bumped by every change, per stripe of keys, so a load can tell it overlapped one
+    private final AtomicLongArray versions = new AtomicLongArray(VERSION_STRIPES);
+    private volatile LocalDate lastEviction = LocalDate.MIN;
+
+    @Autowired
+    public BookedSlotIndex(AppointmentRepository appointmentRepository) {
+        this(appointmentRepository, Clock.systemDefaultZone());
+    }
+
+    BookedSlotIndex(AppointmentRepository appointmentRepository, Clock clock) {
+        this.appointmentRepository = appointmentRepository;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the booked minutes for the doctor on the given date. The returned set must
+     * not be modified.
+     */
+    public BitSet bookedSlots(Long doctorId, LocalDate date) {
+        evictPastDates();
+        Key key = new Key(doctorId, date);
+        BitSet bits = booked.get(key);
+        if (bits != null) {
+            return bits;
+        }
+
+        // Not computeIfAbsent: that would hold the map's bin lock for the whole query
+        long loadedAt = versions.get(stripe(key));
+        BitSet loaded = load(key);
+        BitSet cached = booked.compute(key, (k, current) ->
+            current != null || versions.get(stripe(key)) != loadedAt ? current : loaded);
+        return cached != null ? cached : loaded;
+    }
+
+    public boolean isBooked(Long doctorId, LocalDateTime time) {
+        return bookedSlots(doctorId, time.toLocalDate()).get(slot(time.toLocalTime()));
+    }
+
+    /**
+     * Loads booked minutes for several doctors over a date range with one query, bypassing
+     * the per-day cache. Days without appointments are absent from the result.
+     */
+    public Map<Long, Map<LocalDate, BitSet>> loadRange(Collection<Long> doctorIds, LocalDate from, LocalDate to) {
+        Map<Long, Map<LocalDate, BitSet>> result = new HashMap<>();
+        List<Object[]> rows = appointmentRepository.findDoctorIdAndAppointmentTimeByDoctorIdInAndAppointmentTimeBetween(
+            doctorIds, from.atStartOfDay(), to.atTime(LocalTime.MAX));
+
+        for (Object[] row : rows) {
+            LocalDateTime time = (LocalDateTime) row[1];
+            result.computeIfAbsent((Long) row[0], id -> new HashMap<>())
+                .computeIfAbsent(time.toLocalDate(), date -> new BitSet(MINUTES_PER_DAY))
+                .set(slot(time.toLocalTime()));
+        }
+        return result;
+    }
+
+    public void markBooked(Long doctorId, LocalDateTime time) {
+        update(doctorId, time, true);
+    }
+
+    public void markFree(Long doctorId, LocalDateTime time) {
+        update(doctorId, time, false);
+    }
+
+    public void evictDoctor(Long doctorId) {
+        booked.keySet().removeIf(key -> key.doctorId().equals(doctorId));
+    }
+
+    public static int slot(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+
+    private void update(Long doctorId, LocalDateTime time, boolean value) {
+        Key key = new Key(doctorId, time.toLocalDate());
+        int slot = slot(time.toLocalTime());
+        // Apply once the change is committed, so a rolled-back booking never shows as taken
+        AfterCommit.run(() -> {
+            versions.incrementAndGet(stripe(key));
+            booked.computeIfPresent(key, (k, bits) -> {
+                BitSet copy = (BitSet) bits.clone();
+                copy.set(slot, value);
+                return copy;
+            });
+        });
+    }
+
+    private BitSet load(Key key) {
+        List<LocalDateTime> times = appointmentRepository.findAppointmentTimesByDoctorIdAndAppointmentTimeBetween(
+            key.doctorId(), key.date().atStartOfDay(), key.date().atTime(LocalTime.MAX));
+        BitSet bits = new BitSet(MINUTES_PER_DAY);
+        for (LocalDateTime time : times) {
+            bits.set(slot(time.toLocalTime()));
+        }
+        return bits;
+    }
+
+    private void evictPastDates() {
+        LocalDate today = LocalDate.now(clock);
+        if (!today.equals(lastEviction)) {
+            lastEviction = today;
+            booked.keySet().removeIf(key -> key.date().isBefore(today));
+        }
+    }
+
+    private static int stripe(Key key) {
+        return Math.floorMod(key.hashCode(), VERSION_STRIPES);
+    }
+
+    private record Key(Long doctorId, LocalDate date) {
+    }
+}
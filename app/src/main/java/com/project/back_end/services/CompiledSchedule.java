@@ -0,0 +1,137 @@
+package com.project.back_end.services;
+
+import com.project.back_end.models.AvailableTime;
+import com.project.back_end.models.ScheduleException;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.*;
+
+/**
+ * Immutable, precomputed view of a doctor's schedule: sorted slot start minutes for each
+ * weekday plus per-date overrides. Interval templates are expanded into one-hour slots,
+ * matching the one-hour appointment length.
+ */
+public final class CompiledSchedule {
+
+    public static final int SLOT_MINUTES = 60;
+
+    private static final int NOON = 12 * 60;
+    private static final int[] NO_SLOTS = new int[0];
+
+    private final int[][] weekly;
+    private final Map<LocalDate, int[]> overrides;
+    private final boolean am;
+    private final boolean pm;
+
+    private CompiledSchedule(int[][] weekly, Map<LocalDate, int[]> overrides) {
+        this.weekly = weekly;
+        this.overrides = overrides;
+        boolean anyAm = false;
+        boolean anyPm = false;
+        for (int[] day : weekly) {
+            for (int slot : day) {
+                anyAm |= slot < NOON;
+                anyPm |= slot >= NOON;
+            }
+        }
+        this.am = anyAm;
+        this.pm = anyPm;
+    }
+
+    public static CompiledSchedule compile(List<AvailableTime> templates, List<ScheduleException> exceptions) {
+        List<TreeSet<Integer>> days = new ArrayList<>(7);
+        for (int i = 0; i < 7; i++) {
+            days.add(new TreeSet<>());
+        }
+        if (templates != null) {
+            for (AvailableTime template : templates) {
+                if (template.getStartTime() == null) {
+                    continue;
+                }
+                for (int day = 0; day < 7; day++) {
+                    if (template.getDayOfWeek() == null || template.getDayOfWeek().getValue() - 1 == day) {
+                        expand(template.getStartTime(), template.getEndTime(), days.get(day));
+                    }
+                }
+            }
+        }
+
+        Map<LocalDate, TreeSet<Integer>> byDate = new HashMap<>();
+        if (exceptions != null) {
+            for (ScheduleException exception : exceptions) {
+                if (exception.getDate() == null) {
+                    continue;
+                }
+                TreeSet<Integer> slots = byDate.computeIfAbsent(exception.getDate(), date -> new TreeSet<>());
+                if (exception.getStartTime() != null) {
+                    expand(exception.getStartTime(), exception.getEndTime(), slots);
+                }
+            }
+        }
+
+        int[][] weekly = new int[7][];
+        for (int day = 0; day < 7; day++) {
+            weekly[day] = toArray(days.get(day));
+        }
+        Map<LocalDate, int[]> overrides = new HashMap<>();
+        byDate.forEach((date, slots) -> overrides.put(date, toArray(slots)));
+        return new CompiledSchedule(weekly, Map.copyOf(overrides));
+    }
+
+    // Sorted slot start minutes offered on the date; the returned array must not be modified
+    public int[] slotsOn(LocalDate date) {
+        int[] override = overrides.get(date);
+        return override != null ? override : weekly[date.getDayOfWeek().getValue() - 1];
+    }
+
+    public boolean offers(LocalDateTime time) {
+        if (time.getSecond() != 0 || time.getNano() != 0) {
+            return false;
+        }
+        return Arrays.binarySearch(slotsOn(time.toLocalDate()), BookedSlotIndex.slot(time.toLocalTime())) >= 0;
+    }
+
+    public boolean offersAm() {
+        return am;
+    }
+
+    public boolean offersPm() {
+        return pm;
+    }
+
+    // Bit h is set when some weekday has a slot starting in hour h
+    public int hourMask() {
+        int mask = 0;
+        for (int[] day : weekly) {
+            for (int slot : day) {
+                mask |= 1 << (slot / 60);
+            }
+        }
+        return mask;
+    }
+
+    public static LocalTime toTime(int slot) {
+        return LocalTime.of(slot / 60, slot % 60);
+    }
+
+    private static void expand(LocalTime start, LocalTime end, Set<Integer> slots) {
+        int first = BookedSlotIndex.slot(start);
+        if (end == null || !end.isAfter(start)) {
+            slots.add(first);
+            return;
+        }
+        int last = BookedSlotIndex.slot(end) - SLOT_MINUTES;
+        for (int slot = first; slot <= last; slot += SLOT_MINUTES) {
+            slots.add(slot);
+        }
+    }
+
+    private static int[] toArray(Set<Integer> slots) {
+        if (slots.isEmpty()) {
+            return NO_SLOTS;
+        }
+        return slots.stream().mapToInt(Integer::intValue).toArray();
+    }
+}
@@ -0,0 +1,261 @@
+package com.project.back_end.services;
+
+import com.project.back_end.models.AvailableTime;
+import com.project.back_end.models.Doctor;
+import com.project.back_end.repo.DoctorRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.reflect.Array;
+import java.util.*;
+
+/**
+ * Read-only catalog of doctors for the filter endpoint. Each snapshot stores the filter columns
+ * in parallel primitive arrays sorted by id: an interned specialty code and a bitmask of the
+ * hours in which the doctor's weekly schedule has a slot. Writers build a new snapshot and
+ * publish it through a volatile field, so readers never lock and never see a partial update.
+ */
+@Component
+public class DoctorCatalog {
+
+    private static final Logger logger = LoggerFactory.getLogger(DoctorCatalog.class);
+
+    static final int AM_HOURS = 0x000FFF;
+    static final int PM_HOURS = 0xFFF000;
+    private static final int NO_SPECIALTY = -1;
+
+    private static final class Snapshot {
+        final long[] ids;
+        final int[] specialtyCodes;
+        final int[] hourMasks;
+        final Doctor[] doctors;
+        // Lower-cased specialty -> code; codes are never reused
+        final Map<String, Integer> codes;
+
+        Snapshot(long[] ids, int[] specialtyCodes, int[] hourMasks, Doctor[] doctors, Map<String, Integer> codes) {
+            this.ids = ids;
+            this.specialtyCodes = specialtyCodes;
+            this.hourMasks = hourMasks;
+            this.doctors = doctors;
+            this.codes = codes;
+        }
+    }
+
+    private final DoctorRepository doctorRepository;
+    private volatile Snapshot snapshot;
+
+    @Autowired
+    public DoctorCatalog(DoctorRepository doctorRepository) {
+        this.doctorRepository = doctorRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public synchronized void rebuild() {
+        try {
+            List<Doctor> doctors = new ArrayList<>();
+            for (Doctor doctor : doctorRepository.findAll()) {
+                doctors.add(copyOf(doctor));
+            }
+            doctors.sort(Comparator.comparing(Doctor::getId));
+
+            int n = doctors.size();
+            long[] ids = new long[n];
+            int[] specialtyCodes = new int[n];
+            int[] hourMasks = new int[n];
+            Map<String, Integer> codes = new HashMap<>();
+            for (int i = 0; i < n; i++) {
+                Doctor doctor = doctors.get(i);
+                ids[i] = doctor.getId();
+                specialtyCodes[i] = intern(codes, doctor.getSpecialty());
+                hourMasks[i] = hourMask(doctor);
+            }
+            snapshot = new Snapshot(ids, specialtyCodes, hourMasks, doctors.toArray(new Doctor[0]), codes);
+        } catch (Exception e) {
+            // Filters keep using SQL until the next rebuild
+            snapshot = null;
+            logger.warn("Could not build doctor catalog", e);
+        }
+    }
+
+    public boolean isReady() {
+        return snapshot != null;
+    }
+
+    // Add or replace a doctor; pass a copy made with copyOf while its collections are loaded
+    public synchronized void put(Doctor doctor) {
+        Snapshot current = snapshot;
+        if (current == null || doctor.getId() == null) {
+            return;
+        }
+
+        Map<String, Integer> codes = current.codes;
+        String key = normalize(doctor.getSpecialty());
+        if (key != null && !codes.containsKey(key)) {
+            codes = new HashMap<>(codes);
+            intern(codes, doctor.getSpecialty());
+        }
+
+        int index = Arrays.binarySearch(current.ids, doctor.getId());
+        int n = current.ids.length;
+        long[] ids;
+        int[] specialtyCodes;
+        int[] hourMasks;
+        Doctor[] doctors;
+        if (index >= 0) {
+            ids = current.ids;
+            specialtyCodes = current.specialtyCodes.clone();
+            hourMasks = current.hourMasks.clone();
+            doctors = current.doctors.clone();
+        } else {
+            index = -index - 1;
+            ids = insert(current.ids, index);
+            specialtyCodes = insert(current.specialtyCodes, index);
+            hourMasks = insert(current.hourMasks, index);
+            doctors = new Doctor[n + 1];
+            System.arraycopy(current.doctors, 0, doctors, 0, index);
+            System.arraycopy(current.doctors, index, doctors, index + 1, n - index);
+            ids[index] = doctor.getId();
+        }
+        specialtyCodes[index] = key == null ? NO_SPECIALTY : codes.get(key);
+        hourMasks[index] = hourMask(doctor);
+        doctors[index] = doctor;
+        snapshot = new Snapshot(ids, specialtyCodes, hourMasks, doctors, codes);
+    }
+
+    public synchronized void remove(Long id) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return;
+        }
+        int index = Arrays.binarySearch(current.ids, id);
+        if (index < 0) {
+            return;
+        }
+        int n = current.ids.length;
+        long[] ids = new long[n - 1];
+        int[] specialtyCodes = new int[n - 1];
+        int[] hourMasks = new int[n - 1];
+        Doctor[] doctors = new Doctor[n - 1];
+        removeAt(current.ids, ids, index);
+        removeAt(current.specialtyCodes, specialtyCodes, index);
+        removeAt(current.hourMasks, hourMasks, index);
+        removeAt(current.doctors, doctors, index);
+        snapshot = new Snapshot(ids, specialtyCodes, hourMasks, doctors, current.codes);
+    }
+
+    /**
+     * Doctors in id order matching every given filter; null filters are ignored. The time filter
+     * is "AM" or "PM" (any other value matches nobody). Returns null if the catalog is not built.
+     */
+    public List<Doctor> filter(Set<Long> candidateIds, String specialty, String amOrPm) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return null;
+        }
+
+        int code = NO_SPECIALTY;
+        if (specialty != null) {
+            Integer interned = current.codes.get(normalize(specialty));
+            if (interned == null) {
+                return new ArrayList<>();
+            }
+            code = interned;
+        }
+        int hours = -1;
+        if (amOrPm != null) {
+            hours = "AM".equalsIgnoreCase(amOrPm) ? AM_HOURS : "PM".equalsIgnoreCase(amOrPm) ? PM_HOURS : 0;
+        }
+
+        List<Doctor> result = new ArrayList<>();
+        if (candidateIds != null) {
+            // Name matches are usually few: probe them instead of scanning every row
+            long[] probe = new long[candidateIds.size()];
+            int k = 0;
+            for (Long id : candidateIds) {
+                probe[k++] = id;
+            }
+            Arrays.sort(probe);
+            for (long id : probe) {
+                int i = Arrays.binarySearch(current.ids, id);
+                if (i >= 0 && matches(current, i, code, hours)) {
+                    result.add(current.doctors[i]);
+                }
+            }
+            return result;
+        }
+
+        for (int i = 0; i < current.ids.length; i++) {
+            if (matches(current, i, code, hours)) {
+                result.add(current.doctors[i]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Detached copy holding only what the listing serializes, so the catalog never keeps
+     * Hibernate collections or password hashes alive. Call inside the loading transaction.
+     */
+    public static Doctor copyOf(Doctor doctor) {
+        Doctor copy = new Doctor();
+        copy.setId(doctor.getId());
+        copy.setName(doctor.getName());
+        copy.setEmail(doctor.getEmail());
+        copy.setSpeciality(doctor.getSpeciality());
+        copy.setSpecialty(doctor.getSpecialty());
+        copy.setPhoneNumber(doctor.getPhoneNumber());
+        List<AvailableTime> times = new ArrayList<>();
+        if (doctor.getAvailableTimes() != null) {
+            for (AvailableTime time : doctor.getAvailableTimes()) {
+                times.add(new AvailableTime(time.getDayOfWeek(), time.getStartTime(), time.getEndTime()));
+            }
+        }
+        copy.setAvailableTimes(Collections.unmodifiableList(times));
+        return copy;
+    }
+
+    private static boolean matches(Snapshot snapshot, int i, int code, int hours) {
+        return (code == NO_SPECIALTY || snapshot.specialtyCodes[i] == code)
+            && (hours == -1 || (snapshot.hourMasks[i] & hours) != 0);
+    }
+
+    private static int hourMask(Doctor doctor) {
+        return CompiledSchedule.compile(doctor.getAvailableTimes(), null).hourMask();
+    }
+
+    private static int intern(Map<String, Integer> codes, String specialty) {
+        String key = normalize(specialty);
+        return key == null ? NO_SPECIALTY : codes.computeIfAbsent(key, k -> codes.size());
+    }
+
+    private static String normalize(String specialty) {
+        return specialty == null ? null : specialty.toLowerCase(Locale.ROOT);
+    }
+
+    // Copies every element except the one at index; arrays of any component type
+    private static void removeAt(Object source, Object target, int index) {
+        int n = Array.getLength(source);
+        System.arraycopy(source, 0, target, 0, index);
+        System.arraycopy(source, index + 1, target, index, n - index - 1);
+    }
+
+    private static long[] insert(long[] values, int index) {
+        long[] copy = new long[values.length + 1];
+        System.arraycopy(values, 0, copy, 0, index);
+        System.arraycopy(values, index, copy, index + 1, values.length - index);
+        return copy;
+    }
+
+    private static int[] insert(int[] values, int index) {
+        int[] copy = new int[values.length + 1];
+        System.arraycopy(values, 0, copy, 0, index);
+        System.arraycopy(values, index, copy, index + 1, values.length - index);
+        return copy;
+    }
+}
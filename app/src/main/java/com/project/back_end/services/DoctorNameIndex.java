@@ -0,0 +1,128 @@
+package com.project.back_end.services;
+
+import com.project.back_end.repo.DoctorRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Trigram index over lower-cased doctor names, built at startup and kept current by
+ * {@link DoctorService}. A substring query looks up the posting set of each of its trigrams,
+ * returns nothing if any is missing, and otherwise substring-checks the name of every id in
+ * the smallest set, so results match a case-insensitive LIKE '%name%'.
+ * Queries shorter than three characters scan the in-memory names instead.
+ */
+@Component
+public class DoctorNameIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(DoctorNameIndex.class);
+
+    private final DoctorRepository doctorRepository;
+    private final Map<String, Set<Long>> postings = new ConcurrentHashMap<>();
+    private final Map<Long, String> names = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+
+    @Autowired
+    public DoctorNameIndex(DoctorRepository doctorRepository) {
+        this.doctorRepository = doctorRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        try {
+            postings.clear();
+            names.clear();
+            for (Object[] row : doctorRepository.findAllIdsAndNames()) {
+                add((Long) row[0], (String) row[1]);
+            }
+            ready = true;
+        } catch (Exception e) {
+            // Name search falls back to SQL until the next rebuild
+            ready = false;
+            logger.warn("Could not build doctor name index", e);
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // Ids of doctors whose name contains the query, ignoring case
+    public Set<Long> search(String query) {
+        String needle = normalize(query);
+        Set<Long> matches = new HashSet<>();
+
+        if (needle.length() < 3) {
+            names.forEach((id, name) -> {
+                if (name.contains(needle)) {
+                    matches.add(id);
+                }
+            });
+            return matches;
+        }
+
+        List<Set<Long>> lists = new ArrayList<>();
+        for (String trigram : trigrams(needle)) {
+            Set<Long> ids = postings.get(trigram);
+            if (ids == null) {
+                return matches;
+            }
+            lists.add(ids);
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+
+        for (Long id : lists.get(0)) {
+            String name = names.get(id);
+            if (name != null && name.contains(needle)) {
+                matches.add(id);
+            }
+        }
+        return matches;
+    }
+
+    public synchronized void put(Long id, String name) {
+        remove(id);
+        add(id, name);
+    }
+
+    public synchronized void remove(Long id) {
+        String previous = names.remove(id);
+        if (previous != null) {
+            for (String trigram : trigrams(previous)) {
+                postings.computeIfPresent(trigram, (key, ids) -> {
+                    ids.remove(id);
+                    return ids.isEmpty() ? null : ids;
+                });
+            }
+        }
+    }
+
+    private void add(Long id, String name) {
+        if (id == null || name == null) {
+            return;
+        }
+        String normalized = normalize(name);
+        names.put(id, normalized);
+        for (String trigram : trigrams(normalized)) {
+            postings.computeIfAbsent(trigram, key -> ConcurrentHashMap.newKeySet()).add(id);
+        }
+    }
+
+    private static Set<String> trigrams(String text) {
+        Set<String> result = new HashSet<>();
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            result.add(text.substring(i, i + 3));
+        }
+        return result;
+    }
+
+    private static String normalize(String text) {
+        return text.toLowerCase(Locale.ROOT);
+    }
+}
@@ -1,12 +1,14 @@
 package com.project.back_end.services;
 
 import com.project.back_end.DTO.Login;
-import com.project.back_end.models.Appointment;
-import com.project.back_end.models.AvailableTime;
 import com.project.back_end.models.Doctor;
 import com.project.back_end.repo.AppointmentRepository;
 import com.project.back_end.repo.DoctorRepository;
+import com.project.back_end.repo.DoctorSpecifications;
+import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
@@ -16,7 +18,6 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Service
 public class DoctorService {
@@ -24,47 +25,131 @@ public class DoctorService {
     private final DoctorRepository doctorRepository;
     private final AppointmentRepository appointmentRepository;
     private final TokenService tokenService;
+    private final IdentityCache identityCache;
+    private final BookedSlotIndex bookedSlotIndex;
+    private final SlotHoldRegistry slotHoldRegistry;
+    private final ScheduleRegistry scheduleRegistry;
+    private final DoctorNameIndex doctorNameIndex;
+    private final DoctorSuggestionIndex doctorSuggestionIndex;
+    private final DoctorCatalog doctorCatalog;
 
     @Autowired
     public DoctorService(DoctorRepository doctorRepository,
                         AppointmentRepository appointmentRepository,
-                        TokenService tokenService) {
+                        TokenService tokenService,
+                        IdentityCache identityCache,
+                        BookedSlotIndex bookedSlotIndex,
+                        SlotHoldRegistry slotHoldRegistry,
+                        ScheduleRegistry scheduleRegistry,
+                        DoctorNameIndex doctorNameIndex,
+                        DoctorSuggestionIndex doctorSuggestionIndex,
+                        DoctorCatalog doctorCatalog) {
         this.doctorRepository = doctorRepository;
         this.appointmentRepository = appointmentRepository;
         this.tokenService = tokenService;
+        this.identityCache = identityCache;
+        this.bookedSlotIndex = bookedSlotIndex;
+        this.slotHoldRegistry = slotHoldRegistry;
+        this.scheduleRegistry = scheduleRegistry;
+        this.doctorNameIndex = doctorNameIndex;
+        this.doctorSuggestionIndex = doctorSuggestionIndex;
+        this.doctorCatalog = doctorCatalog;
     }
 
-    @Transactional
+    @Transactional(readOnly = true)
     public List<String> getDoctorAvailability(Long doctorId, LocalDate date) {
         try {
-            Optional<Doctor> doctorOpt = doctorRepository.findById(doctorId);
-            if (doctorOpt.isEmpty()) {
+            CompiledSchedule schedule = scheduleRegistry.get(doctorId);
+            if (schedule == null) {
                 return new ArrayList<>();
             }
 
-            Doctor doctor = doctorOpt.get();
-            LocalDateTime startOfDay = date.atStartOfDay();
-            LocalDateTime endOfDay = date.atTime(LocalTime.MAX);
+            return freeSlots(doctorId, date, schedule, bookedSlotIndex.bookedSlots(doctorId, date));
+        } catch (Exception e) {
+            return new ArrayList<>();
+        }
+    }
 
-            List<Appointment> appointments = appointmentRepository.findByDoctorIdAndAppointmentTimeBetween(
-                doctorId, startOfDay, endOfDay
-            );
+    // Availability of several doctors over a date range as doctorId -> date -> free slots,
+    // computed from the compiled schedules and one appointment query
+    @Transactional(readOnly = true)
+    public Map<Long, Map<String, List<String>>> getAvailabilityGrid(Collection<Long> doctorIds, LocalDate from, LocalDate to) {
+        Map<Long, Map<String, List<String>>> grid = new LinkedHashMap<>();
+        Map<Long, CompiledSchedule> schedules = scheduleRegistry.getAll(doctorIds);
+        Map<Long, Map<LocalDate, BitSet>> booked = bookedSlotIndex.loadRange(doctorIds, from, to);
 
-            Set<LocalTime> bookedTimes = appointments.stream()
-                .map(app -> app.getAppointmentTime().toLocalTime())
-                .collect(Collectors.toSet());
+        for (Long doctorId : new LinkedHashSet<>(doctorIds)) {
+            CompiledSchedule schedule = schedules.get(doctorId);
+            if (schedule == null) {
+                continue;
+            }
+            Map<LocalDate, BitSet> doctorBooked = booked.getOrDefault(doctorId, Collections.emptyMap());
+            Map<String, List<String>> days = new LinkedHashMap<>();
 
-            List<String> availableSlots = new ArrayList<>();
-            for (AvailableTime availableTime : doctor.getAvailableTimes()) {
-                if (!bookedTimes.contains(availableTime.getStartTime())) {
-                    availableSlots.add(availableTime.getStartTime().toString());
-                }
+            for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+                days.put(date.toString(), freeSlots(doctorId, date, schedule, doctorBooked.getOrDefault(date, BookedSlotIndex.EMPTY)));
             }
+            grid.put(doctorId, days);
+        }
+        return grid;
+    }
 
-            return availableSlots;
-        } catch (Exception e) {
-            return new ArrayList<>();
+    private List<String> freeSlots(Long doctorId, LocalDate date, CompiledSchedule schedule, BitSet bookedSlots) {
+        List<String> availableSlots = new ArrayList<>();
+        for (int slot : schedule.slotsOn(date)) {
+            LocalTime startTime = CompiledSchedule.toTime(slot);
+            if (!bookedSlots.get(slot) && !slotHoldRegistry.isHeld(doctorId, date.atTime(startTime))) {
+                availableSlots.add(startTime.toString());
+            }
         }
+        return availableSlots;
+    }
+
+    // Validates a whole set of slots in one pass: returns the requested times that are not
+    // offered, already booked or held by someone else, or null if the doctor does not exist
+    @Transactional(readOnly = true)
+    public List<LocalDateTime> findUnavailableSlots(Long doctorId, List<LocalDateTime> appointmentTimes, Long holderId) {
+        CompiledSchedule schedule = scheduleRegistry.get(doctorId);
+        if (schedule == null) {
+            return null;
+        }
+
+        LocalDate from = Collections.min(appointmentTimes).toLocalDate();
+        LocalDate to = Collections.max(appointmentTimes).toLocalDate();
+        Map<LocalDate, BitSet> booked = bookedSlotIndex.loadRange(List.of(doctorId), from, to)
+            .getOrDefault(doctorId, Collections.emptyMap());
+
+        List<LocalDateTime> unavailable = new ArrayList<>();
+        for (LocalDateTime time : appointmentTimes) {
+            boolean free = schedule.offers(time)
+                && !booked.getOrDefault(time.toLocalDate(), BookedSlotIndex.EMPTY).get(BookedSlotIndex.slot(time.toLocalTime()))
+                && !slotHoldRegistry.isHeldByOther(doctorId, time, holderId);
+            if (!free) {
+                unavailable.add(time);
+            }
+        }
+        return unavailable;
+    }
+
+    @Transactional(readOnly = true)
+    public int validateSlot(Long doctorId, LocalDateTime appointmentTime) {
+        return validateSlot(doctorId, appointmentTime, null);
+    }
+
+    // Returns -1 if the doctor does not exist, 1 if the slot is offered, not booked and not
+    // held by anyone other than holderId, 0 otherwise
+    @Transactional(readOnly = true)
+    public int validateSlot(Long doctorId, LocalDateTime appointmentTime, Long holderId) {
+        CompiledSchedule schedule = scheduleRegistry.get(doctorId);
+        if (schedule == null) {
+            return -1;
+        }
+
+        boolean held = holderId == null
+            ? slotHoldRegistry.isHeld(doctorId, appointmentTime)
+            : slotHoldRegistry.isHeldByOther(doctorId, appointmentTime, holderId);
+
+        return schedule.offers(appointmentTime) && !held && !bookedSlotIndex.isBooked(doctorId, appointmentTime) ? 1 : 0;
     }
 
     @Transactional
@@ -74,7 +159,15 @@ public class DoctorService {
             if (existing != null) {
                 return -1;
             }
-            doctorRepository.save(doctor);
+            Doctor saved = doctorRepository.save(doctor);
+            Doctor catalogCopy = DoctorCatalog.copyOf(saved);
+            // After commit, or a concurrent read could reload and cache the old schedule
+            AfterCommit.run(() -> {
+                scheduleRegistry.evict(saved.getId());
+                doctorCatalog.put(catalogCopy);
+                doctorNameIndex.put(saved.getId(), saved.getName());
+                doctorSuggestionIndex.put(saved.getId(), saved.getName(), saved.getSpecialty());
+            });
             return 1;
         } catch (Exception e) {
             return 0;
@@ -88,20 +181,61 @@ public class DoctorService {
             if (existing.isEmpty()) {
                 return -1;
             }
-            doctorRepository.save(doctor);
+            String previousEmail = existing.get().getEmail();
+            Doctor saved = doctorRepository.save(doctor);
+            Doctor catalogCopy = DoctorCatalog.copyOf(saved);
+            // After commit, or a concurrent request could re-cache the old email for a whole TTL
+            AfterCommit.run(() -> {
+                identityCache.evict("doctor", previousEmail);
+                scheduleRegistry.evict(doctor.getId());
+                doctorCatalog.put(catalogCopy);
+                doctorNameIndex.put(doctor.getId(), doctor.getName());
+                doctorSuggestionIndex.put(doctor.getId(), doctor.getName(), doctor.getSpecialty());
+            });
             return 1;
         } catch (Exception e) {
             return 0;
         }
     }
 
-    @Transactional
-    public List<Doctor> getDoctors() {
-        try {
-            return doctorRepository.findAll();
-        } catch (Exception e) {
-            return new ArrayList<>();
+    /**
+     * One page of doctors ordered by id or by name (ties broken by id). The cursor is opaque to
+     * clients: pass back the previous page's nextCursor, which is null on the last page.
+     * Schedules for the page are loaded in one batch via @BatchSize on availableTimes.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> getDoctorPage(String sort, String cursor, int size) {
+        boolean byName = "name".equalsIgnoreCase(sort);
+        if (!byName && !"id".equalsIgnoreCase(sort)) {
+            throw new IllegalArgumentException("Unknown sort: " + sort);
         }
+
+        Long afterId = 0L;
+        String afterName = "";
+        if (cursor != null && !cursor.isEmpty()) {
+            KeysetCursor position = KeysetCursor.decode(cursor);
+            afterId = position.id();
+            afterName = position.key();
+        }
+
+        // Fetch one extra row to learn whether another page exists
+        PageRequest page = PageRequest.of(0, size + 1);
+        List<Doctor> doctors = byName
+            ? doctorRepository.findPageAfterName(afterName, afterId, page)
+            : doctorRepository.findPageAfterId(afterId, page);
+
+        String nextCursor = null;
+        if (doctors.size() > size) {
+            doctors = new ArrayList<>(doctors.subList(0, size));
+            Doctor last = doctors.get(size - 1);
+            nextCursor = new KeysetCursor(last.getId(), byName ? last.getName() : "").encode();
+        }
+        doctors.forEach(doctor -> Hibernate.initialize(doctor.getAvailableTimes()));
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("doctors", doctors);
+        response.put("nextCursor", nextCursor);
+        return response;
     }
 
     @Transactional
@@ -113,6 +247,15 @@ public class DoctorService {
             }
             appointmentRepository.deleteAllByDoctorId(id);
             doctorRepository.deleteById(id);
+            String email = existing.get().getEmail();
+            AfterCommit.run(() -> {
+                identityCache.evict("doctor", email);
+                bookedSlotIndex.evictDoctor(id);
+                scheduleRegistry.evict(id);
+                doctorCatalog.remove(id);
+                doctorNameIndex.remove(id);
+                doctorSuggestionIndex.remove(id);
+            });
             return 1;
         } catch (Exception e) {
             return 0;
@@ -144,113 +287,64 @@ public class DoctorService {
         }
     }
 
-    @Transactional
-    public Map<String, Object> findDoctorByName(String name) {
-        Map<String, Object> response = new HashMap<>();
-        try {
-            List<Doctor> doctors = doctorRepository.findByNameLike(name);
-            response.put("doctors", doctors);
-        } catch (Exception e) {
-            response.put("error", "Failed to find doctors");
-        }
-        return response;
+    public List<Map<String, Object>> suggestDoctors(String query, int limit) {
+        return doctorSuggestionIndex.suggest(query, limit);
     }
 
-    @Transactional
-    public Map<String, Object> filterDoctorsByNameSpecilityandTime(String name, String specialty, String amOrPm) {
-        Map<String, Object> response = new HashMap<>();
-        try {
-            List<Doctor> doctors = doctorRepository.findByNameContainingIgnoreCaseAndSpecialtyIgnoreCase(name, specialty);
-            List<Doctor> filteredDoctors = filterDoctorByTime(doctors, amOrPm);
-            response.put("doctors", filteredDoctors);
-        } catch (Exception e) {
-            response.put("error", "Failed to filter doctors");
+    // Filters from the in-memory catalog; null if it (or the name index it needs) is not built
+    public Map<String, Object> filterDoctorsInMemory(String name, String specialty, String amOrPm) {
+        if (!doctorCatalog.isReady() || (hasText(name) && !doctorNameIndex.isReady())) {
+            return null;
         }
-        return response;
-    }
-
-    @Transactional
-    public Map<String, Object> filterDoctorByNameAndTime(String name, String amOrPm) {
-        Map<String, Object> response = new HashMap<>();
-        try {
-            List<Doctor> doctors = doctorRepository.findByNameLike(name);
-            List<Doctor> filteredDoctors = filterDoctorByTime(doctors, amOrPm);
-            response.put("doctors", filteredDoctors);
-        } catch (Exception e) {
-            response.put("error", "Failed to filter doctors");
+        List<Doctor> doctors = doctorCatalog.filter(
+            hasText(name) ? doctorNameIndex.search(name) : null,
+            hasText(specialty) ? specialty : null,
+            hasText(amOrPm) ? amOrPm : null);
+        if (doctors == null) {
+            return null;
         }
-        return response;
-    }
-
-    @Transactional
-    public Map<String, Object> filterDoctorByNameAndSpecility(String name, String specilty) {
         Map<String, Object> response = new HashMap<>();
-        try {
-            List<Doctor> doctors = doctorRepository.findByNameContainingIgnoreCaseAndSpecialtyIgnoreCase(name, specilty);
-            response.put("doctors", doctors);
-        } catch (Exception e) {
-            response.put("error", "Failed to filter doctors");
-        }
+        response.put("doctors", doctors);
         return response;
     }
 
-    @Transactional
-    public Map<String, Object> filterDoctorByTimeAndSpecility(String specilty, String amOrPm) {
+    @Transactional(readOnly = true)
+    public Map<String, Object> filterDoctors(String name, String specialty, String amOrPm) {
         Map<String, Object> response = new HashMap<>();
         try {
-            List<Doctor> doctors = doctorRepository.findBySpecialtyIgnoreCase(specilty);
-            List<Doctor> filteredDoctors = filterDoctorByTime(doctors, amOrPm);
-            response.put("doctors", filteredDoctors);
-        } catch (Exception e) {
-            response.put("error", "Failed to filter doctors");
-        }
-        return response;
-    }
+            Specification<Doctor> spec = Specification.where(null);
 
-    @Transactional
-    public Map<String, Object> filterDoctorBySpecility(String specilty) {
-        Map<String, Object> response = new HashMap<>();
-        try {
-            List<Doctor> doctors = doctorRepository.findBySpecialtyIgnoreCase(specilty);
-            response.put("doctors", doctors);
-        } catch (Exception e) {
-            response.put("error", "Failed to filter doctors");
-        }
-        return response;
-    }
+            if (hasText(name)) {
+                // Resolve names through the trigram index; SQL LIKE only until it has been built
+                if (doctorNameIndex.isReady()) {
+                    Set<Long> ids = doctorNameIndex.search(name);
+                    if (ids.isEmpty()) {
+                        response.put("doctors", new ArrayList<>());
+                        return response;
+                    }
+                    spec = spec.and(DoctorSpecifications.idIn(ids));
+                } else {
+                    spec = spec.and(DoctorSpecifications.nameContains(name));
+                }
+            }
+            if (hasText(specialty)) {
+                spec = spec.and(DoctorSpecifications.specialtyIs(specialty));
+            }
+            if (hasText(amOrPm)) {
+                spec = spec.and(DoctorSpecifications.availableIn(amOrPm));
+            }
 
-    @Transactional
-    public Map<String, Object> filterDoctorsByTime(String amOrPm) {
-        Map<String, Object> response = new HashMap<>();
-        try {
-            List<Doctor> doctors = doctorRepository.findAll();
-            List<Doctor> filteredDoctors = filterDoctorByTime(doctors, amOrPm);
-            response.put("doctors", filteredDoctors);
+            List<Doctor> doctors = doctorRepository.findAll(spec);
+            // Load schedules in batches while the session is open so they can be serialized
+            doctors.forEach(doctor -> Hibernate.initialize(doctor.getAvailableTimes()));
+            response.put("doctors", doctors);
         } catch (Exception e) {
             response.put("error", "Failed to filter doctors");
         }
         return response;
     }
 
-    private List<Doctor> filterDoctorByTime(List<Doctor> doctors, String amOrPm) {
-        return doctors.stream()
-            .filter(doctor -> {
-                if (doctor.getAvailableTimes() == null || doctor.getAvailableTimes().isEmpty()) {
-                    return false;
-                }
-                
-                for (AvailableTime availableTime : doctor.getAvailableTimes()) {
-                    LocalTime time = availableTime.getStartTime();
-                    int hour = time.getHour();
-                    
-                    if ("AM".equalsIgnoreCase(amOrPm) && hour >= 0 && hour < 12) {
-                        return true;
-                    } else if ("PM".equalsIgnoreCase(amOrPm) && hour >= 12 && hour < 24) {
-                        return true;
-                    }
-                }
-                return false;
-            })
-            .collect(Collectors.toList());
+    private static boolean hasText(String value) {
+        return value != null && !value.isEmpty();
     }
-}
+}
\ No newline at end of file
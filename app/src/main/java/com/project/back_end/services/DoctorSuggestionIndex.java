@@ -0,0 +1,185 @@
+package com.project.back_end.services;
+
+import com.project.back_end.repo.DoctorRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Typeahead suggestions from two prefix tries: distinct specialties, ranked by how many doctors
+ * have them, and doctor names, indexed at every word start so "ada" finds "Dr. Emily Adams".
+ * Built at startup and kept current by {@link DoctorService}; suggestions never touch the database.
+ */
+@Component
+public class DoctorSuggestionIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(DoctorSuggestionIndex.class);
+
+    private record Entry(Long id, String name, String specialty) {
+    }
+
+    private final DoctorRepository doctorRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final RadixTrie<Long> names = new RadixTrie<>();
+    private final RadixTrie<String> specialties = new RadixTrie<>();
+    private final Map<Long, Entry> doctors = new HashMap<>();
+    // Lower-cased specialty -> doctors with it, and the spelling shown to users
+    private final Map<String, Integer> specialtyCounts = new HashMap<>();
+    private final Map<String, String> specialtyLabels = new HashMap<>();
+
+    @Autowired
+    public DoctorSuggestionIndex(DoctorRepository doctorRepository) {
+        this.doctorRepository = doctorRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<Object[]> rows;
+        try {
+            rows = doctorRepository.findAllIdsNamesAndSpecialties();
+        } catch (Exception e) {
+            logger.warn("Could not build doctor suggestion index", e);
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            for (Long id : new ArrayList<>(doctors.keySet())) {
+                removeEntry(id);
+            }
+            for (Object[] row : rows) {
+                addEntry(new Entry((Long) row[0], (String) row[1], (String) row[2]));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void put(Long id, String name, String specialty) {
+        lock.writeLock().lock();
+        try {
+            removeEntry(id);
+            addEntry(new Entry(id, name, specialty));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            removeEntry(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Matching specialties first, most common first, then doctors in name order
+    public List<Map<String, Object>> suggest(String query, int limit) {
+        String prefix = normalize(query);
+        List<Map<String, Object>> suggestions = new ArrayList<>();
+        if (prefix.isEmpty() || limit <= 0) {
+            return suggestions;
+        }
+
+        lock.readLock().lock();
+        try {
+            List<String> matchedSpecialties = new ArrayList<>();
+            specialties.visit(prefix, matchedSpecialties::add);
+            matchedSpecialties.sort(Comparator.comparing((String key) -> -specialtyCounts.get(key))
+                .thenComparing(key -> key));
+            for (String key : matchedSpecialties) {
+                if (suggestions.size() == limit) {
+                    return suggestions;
+                }
+                Map<String, Object> suggestion = new LinkedHashMap<>();
+                suggestion.put("type", "specialty");
+                suggestion.put("value", specialtyLabels.get(key));
+                suggestion.put("doctors", specialtyCounts.get(key));
+                suggestions.add(suggestion);
+            }
+
+            Set<Long> seen = new HashSet<>();
+            names.visit(prefix, id -> {
+                if (suggestions.size() == limit) {
+                    return false;
+                }
+                if (seen.add(id)) {
+                    Entry entry = doctors.get(id);
+                    Map<String, Object> suggestion = new LinkedHashMap<>();
+                    suggestion.put("type", "doctor");
+                    suggestion.put("value", entry.name());
+                    suggestion.put("id", entry.id());
+                    suggestion.put("specialty", entry.specialty());
+                    suggestions.add(suggestion);
+                }
+                return true;
+            });
+            return suggestions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void addEntry(Entry entry) {
+        if (entry.id() == null) {
+            return;
+        }
+        doctors.put(entry.id(), entry);
+        for (String key : wordSuffixes(entry.name())) {
+            names.add(key, entry.id());
+        }
+        if (entry.specialty() != null && !entry.specialty().isBlank()) {
+            String key = normalize(entry.specialty());
+            if (specialtyCounts.merge(key, 1, Integer::sum) == 1) {
+                specialties.add(key, key);
+                specialtyLabels.put(key, entry.specialty().trim());
+            }
+        }
+    }
+
+    private void removeEntry(Long id) {
+        Entry entry = doctors.remove(id);
+        if (entry == null) {
+            return;
+        }
+        for (String key : wordSuffixes(entry.name())) {
+            names.remove(key, id);
+        }
+        if (entry.specialty() != null && !entry.specialty().isBlank()) {
+            String key = normalize(entry.specialty());
+            if (specialtyCounts.merge(key, -1, Integer::sum) == 0) {
+                specialtyCounts.remove(key);
+                specialtyLabels.remove(key);
+                specialties.remove(key, key);
+            }
+        }
+    }
+
+    // "Dr. Emily Adams" -> "dr. emily adams", "emily adams", "adams"
+    private static Set<String> wordSuffixes(String name) {
+        Set<String> keys = new LinkedHashSet<>();
+        if (name == null) {
+            return keys;
+        }
+        String normalized = normalize(name);
+        for (int i = 0; i < normalized.length(); i++) {
+            if (!Character.isWhitespace(normalized.charAt(i))
+                    && (i == 0 || Character.isWhitespace(normalized.charAt(i - 1)))) {
+                keys.add(normalized.substring(i));
+            }
+        }
+        return keys;
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,86 @@
+package com.project.back_end.services;
+
+import java.time.Clock;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrent map whose entries carry their own expiry time. A read is one ConcurrentHashMap
+ * lookup plus a clock check, with no shared lock and no reordering; an expired entry is
+ * dropped when it is read. The size bound is approximate: a put that takes the map past
+ * maxEntries evicts, from a small sample of entries, the one that expires first, so inserts
+ * stay O(1) however full the map is.
+ */
+final class ExpiringCache<K, V> {
+
+    private static final int EVICTION_SAMPLE = 8;
+
+    private record Entry<V>(V value, long expiresAt) {
+    }
+
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final int maxEntries;
+    private final Clock clock;
+    private final LongAdder evictions = new LongAdder();
+
+    ExpiringCache(int maxEntries, Clock clock) {
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+    }
+
+    V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt() <= clock.millis()) {
+            // Only this entry: a fresh one put meanwhile stays
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.value();
+    }
+
+    void put(K key, V value, long expiresAt) {
+        if (maxEntries <= 0) {
+            return;
+        }
+        entries.put(key, new Entry<>(value, expiresAt));
+        while (entries.size() > maxEntries) {
+            evictOne();
+        }
+    }
+
+    void remove(K key) {
+        entries.remove(key);
+    }
+
+    void clear() {
+        entries.clear();
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    long evictions() {
+        return evictions.sum();
+    }
+
+    // Sampled eviction: expired entries sort first, so they go before any live one
+    private void evictOne() {
+        Iterator<Map.Entry<K, Entry<V>>> sample = entries.entrySet().iterator();
+        Map.Entry<K, Entry<V>> victim = null;
+        for (int i = 0; i < EVICTION_SAMPLE && sample.hasNext(); i++) {
+            Map.Entry<K, Entry<V>> candidate = sample.next();
+            if (victim == null || candidate.getValue().expiresAt() < victim.getValue().expiresAt()) {
+                victim = candidate;
+            }
+        }
+        if (victim != null && entries.remove(victim.getKey(), victim.getValue())) {
+            evictions.increment();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.project.back_end.services;
+
+import com.project.back_end.DTO.AuthPrincipal;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+
+/**
+ * Remembers accounts that {@link TokenService} has already confirmed to exist, keyed by
+ * (role, identifier), so authenticated requests skip the admin/doctor/patient lookup.
+ * Only positive results are cached, for ttl-seconds, in an {@link ExpiringCache} bounded to
+ * roughly max-entries; when it is full the entries closest to expiry make room. Services
+ * that delete or rename an account must call {@link #evict(String, String)} once the change
+ * has committed.
+ */
+@Component
+public class IdentityCache {
+
+    @Value("${identity.cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    @Value("${identity.cache.max-entries:10000}")
+    private int maxEntries;
+
+    private final Clock clock;
+    private ExpiringCache<String, AuthPrincipal> entries;
+
+    public IdentityCache() {
+        this(Clock.systemUTC());
+    }
+
+    IdentityCache(Clock clock) {
+        this.clock = clock;
+    }
+
+    @PostConstruct
+    void init() {
+        entries = new ExpiringCache<>(maxEntries, clock);
+    }
+
+    public AuthPrincipal get(String role, String identifier) {
+        return entries.get(key(role, identifier));
+    }
+
+    public void put(AuthPrincipal principal) {
+        entries.put(key(principal.getRole(), principal.getIdentifier()), principal,
+            clock.millis() + ttlSeconds * 1000);
+    }
+
+    public void evict(String role, String identifier) {
+        if (identifier != null) {
+            entries.remove(key(role, identifier));
+        }
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    long evictions() {
+        return entries.evictions();
+    }
+
+    private static String key(String role, String identifier) {
+        return role.toLowerCase() + ":" + identifier;
+    }
+}
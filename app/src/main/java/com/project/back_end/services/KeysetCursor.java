@@ -0,0 +1,26 @@
+package com.project.back_end.services;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque continuation token for keyset pagination: the id of the last row returned plus the
+ * value of the leading sort column, Base64url-encoded so clients treat it as a blob.
+ */
+record KeysetCursor(long id, String key) {
+
+    String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString((id + ":" + key).getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Throws IllegalArgumentException for anything encode() did not produce
+    static KeysetCursor decode(String cursor) {
+        String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        String[] parts = decoded.split(":", 2);
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Malformed cursor");
+        }
+        return new KeysetCursor(Long.parseLong(parts[0]), parts[1]);
+    }
+}
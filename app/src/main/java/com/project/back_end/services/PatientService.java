@@ -1,89 +1,74 @@
 package com.project.back_end.services;
 
 import com.project.back_end.DTO.AppointmentDTO;
-import com.project.back_end.models.Appointment;
 import com.project.back_end.models.Patient;
 import com.project.back_end.repo.AppointmentRepository;
 import com.project.back_end.repo.PatientRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Service
 public class PatientService {
 
     private final PatientRepository patientRepository;
     private final AppointmentRepository appointmentRepository;
-    private final TokenService tokenService;
+    private final IdentityCache identityCache;
 
     @Autowired
     public PatientService(PatientRepository patientRepository,
                          AppointmentRepository appointmentRepository,
-                         TokenService tokenService) {
+                         IdentityCache identityCache) {
         this.patientRepository = patientRepository;
         this.appointmentRepository = appointmentRepository;
-        this.tokenService = tokenService;
+        this.identityCache = identityCache;
     }
 
     @Transactional
     public int createPatient(Patient patient) {
         try {
             patientRepository.save(patient);
+            String email = patient.getEmail();
+            AfterCommit.run(() -> identityCache.evict("patient", email));
             return 1;
         } catch (Exception e) {
             return 0;
         }
     }
 
-    @Transactional
-    public ResponseEntity<Map<String, Object>> getPatientAppointment(Long id, String token) {
+    @Transactional(readOnly = true)
+    public ResponseEntity<Map<String, Object>> getPatientAppointment(Long id, Long patientId, String cursor, int size) {
         Map<String, Object> response = new HashMap<>();
         try {
-            String email = tokenService.extractEmail(token);
-            Patient patient = patientRepository.findByEmail(email);
-
-            if (patient == null) {
-                response.put("error", "Patient not found");
-                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
-            }
-
-            if (!patient.getId().equals(id)) {
+            if (!patientId.equals(id)) {
                 response.put("error", "Unauthorized access");
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
             }
 
-            List<Appointment> appointments = appointmentRepository.findByPatientId(id);
-            List<AppointmentDTO> appointmentDTOs = appointments.stream()
-                .map(app -> new AppointmentDTO(
-                    app.getId(),
-                    app.getDoctor().getId(),
-                    app.getDoctor().getName(),
-                    app.getPatient().getId(),
-                    app.getPatient().getName(),
-                    app.getPatient().getEmail(),
-                    app.getPatient().getPhone(),
-                    app.getPatient().getAddress(),
-                    app.getAppointmentTime(),
-                    app.getStatus()
-                ))
-                .collect(Collectors.toList());
-
-            response.put("appointments", appointmentDTOs);
-            return ResponseEntity.ok(response);
+            PagePosition start = PagePosition.of(cursor);
+            List<AppointmentDTO> appointmentDTOs = appointmentRepository.findDtosByPatientId(
+                id, start.time(), start.id(), PageRequest.of(0, size + 1));
+
+            return page(appointmentDTOs, size, response);
 
+        } catch (IllegalArgumentException e) {
+            response.put("error", "Invalid cursor");
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
         } catch (Exception e) {
             response.put("error", "Failed to retrieve appointments: " + e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
         }
     }
 
-    @Transactional
-    public ResponseEntity<Map<String, Object>> filterByCondition(String condition, Long id) {
+    @Transactional(readOnly = true)
+    public ResponseEntity<Map<String, Object>> filterByCondition(String condition, Long id, String cursor, int size) {
         Map<String, Object> response = new HashMap<>();
         try {
             int status;
@@ -96,62 +81,42 @@ public class PatientService {
                 return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
             }
 
-            List<Appointment> appointments = appointmentRepository.findByPatient_IdAndStatusOrderByAppointmentTimeAsc(id, status);
-            List<AppointmentDTO> appointmentDTOs = appointments.stream()
-                .map(app -> new AppointmentDTO(
-                    app.getId(),
-                    app.getDoctor().getId(),
-                    app.getDoctor().getName(),
-                    app.getPatient().getId(),
-                    app.getPatient().getName(),
-                    app.getPatient().getEmail(),
-                    app.getPatient().getPhone(),
-                    app.getPatient().getAddress(),
-                    app.getAppointmentTime(),
-                    app.getStatus()
-                ))
-                .collect(Collectors.toList());
-
-            response.put("appointments", appointmentDTOs);
-            return ResponseEntity.ok(response);
+            PagePosition start = PagePosition.of(cursor);
+            List<AppointmentDTO> appointmentDTOs = appointmentRepository.findDtosByPatientIdAndStatus(
+                id, status, start.time(), start.id(), PageRequest.of(0, size + 1));
 
+            return page(appointmentDTOs, size, response);
+
+        } catch (IllegalArgumentException e) {
+            response.put("error", "Invalid cursor");
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
         } catch (Exception e) {
             response.put("error", "Failed to filter appointments: " + e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
         }
     }
 
-    @Transactional
-    public ResponseEntity<Map<String, Object>> filterByDoctor(String name, Long patientId) {
+    @Transactional(readOnly = true)
+    public ResponseEntity<Map<String, Object>> filterByDoctor(String name, Long patientId, String cursor, int size) {
         Map<String, Object> response = new HashMap<>();
         try {
-            List<Appointment> appointments = appointmentRepository.filterByDoctorNameAndPatientId(name, patientId);
-            List<AppointmentDTO> appointmentDTOs = appointments.stream()
-                .map(app -> new AppointmentDTO(
-                    app.getId(),
-                    app.getDoctor().getId(),
-                    app.getDoctor().getName(),
-                    app.getPatient().getId(),
-                    app.getPatient().getName(),
-                    app.getPatient().getEmail(),
-                    app.getPatient().getPhone(),
-                    app.getPatient().getAddress(),
-                    app.getAppointmentTime(),
-                    app.getStatus()
-                ))
-                .collect(Collectors.toList());
-
-            response.put("appointments", appointmentDTOs);
-            return ResponseEntity.ok(response);
+            PagePosition start = PagePosition.of(cursor);
+            List<AppointmentDTO> appointmentDTOs = appointmentRepository.filterDtosByDoctorNameAndPatientId(
+                name, patientId, start.time(), start.id(), PageRequest.of(0, size + 1));
 
+            return page(appointmentDTOs, size, response);
+
+        } catch (IllegalArgumentException e) {
+            response.put("error", "Invalid cursor");
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
         } catch (Exception e) {
             response.put("error", "Failed to filter appointments by doctor: " + e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
         }
     }
 
-    @Transactional
-    public ResponseEntity<Map<String, Object>> filterByDoctorAndCondition(String condition, String name, long patientId) {
+    @Transactional(readOnly = true)
+    public ResponseEntity<Map<String, Object>> filterByDoctorAndCondition(String condition, String name, long patientId, String cursor, int size) {
         Map<String, Object> response = new HashMap<>();
         try {
             int status;
@@ -164,25 +129,15 @@ public class PatientService {
                 return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
             }
 
-            List<Appointment> appointments = appointmentRepository.filterByDoctorNameAndPatientIdAndStatus(name, patientId, status);
-            List<AppointmentDTO> appointmentDTOs = appointments.stream()
-                .map(app -> new AppointmentDTO(
-                    app.getId(),
-                    app.getDoctor().getId(),
-                    app.getDoctor().getName(),
-                    app.getPatient().getId(),
-                    app.getPatient().getName(),
-                    app.getPatient().getEmail(),
-                    app.getPatient().getPhone(),
-                    app.getPatient().getAddress(),
-                    app.getAppointmentTime(),
-                    app.getStatus()
-                ))
-                .collect(Collectors.toList());
-
-            response.put("appointments", appointmentDTOs);
-            return ResponseEntity.ok(response);
+            PagePosition start = PagePosition.of(cursor);
+            List<AppointmentDTO> appointmentDTOs = appointmentRepository.filterDtosByDoctorNameAndPatientIdAndStatus(
+                name, patientId, status, start.time(), start.id(), PageRequest.of(0, size + 1));
+
+            return page(appointmentDTOs, size, response);
 
+        } catch (IllegalArgumentException e) {
+            response.put("error", "Invalid cursor");
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
         } catch (Exception e) {
             response.put("error", "Failed to filter appointments: " + e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
@@ -190,11 +145,10 @@ public class PatientService {
     }
 
     @Transactional
-    public ResponseEntity<Map<String, Object>> getPatientDetails(String token) {
+    public ResponseEntity<Map<String, Object>> getPatientDetails(Long patientId) {
         Map<String, Object> response = new HashMap<>();
         try {
-            String email = tokenService.extractEmail(token);
-            Patient patient = patientRepository.findByEmail(email);
+            Patient patient = patientRepository.findById(patientId).orElse(null);
 
             if (patient == null) {
                 response.put("error", "Patient not found");
@@ -209,4 +163,37 @@ public class PatientService {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
         }
     }
+
+    // Keyset position of the last row on the previous page; the first page starts before any
+    // appointment MySQL can store
+    private record PagePosition(LocalDateTime time, long id) {
+
+        private static final PagePosition FIRST = new PagePosition(LocalDateTime.of(1000, 1, 1, 0, 0), 0L);
+
+        static PagePosition of(String cursor) {
+            if (cursor == null || cursor.isEmpty()) {
+                return FIRST;
+            }
+            KeysetCursor decoded = KeysetCursor.decode(cursor);
+            try {
+                return new PagePosition(LocalDateTime.parse(decoded.key()), decoded.id());
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("Malformed cursor", e);
+            }
+        }
+    }
+
+    // Rows were fetched with one extra to tell whether another page follows
+    private static ResponseEntity<Map<String, Object>> page(List<AppointmentDTO> rows, int size,
+                                                            Map<String, Object> response) {
+        String nextCursor = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            AppointmentDTO last = rows.get(size - 1);
+            nextCursor = new KeysetCursor(last.getId(), last.getAppointmentTime().toString()).encode();
+        }
+        response.put("appointments", rows);
+        response.put("nextCursor", nextCursor);
+        return ResponseEntity.ok(response);
+    }
 }
@@ -0,0 +1,164 @@
+package com.project.back_end.services;
+
+import com.project.back_end.models.Prescription;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache of the prescriptions of an appointment, keyed by appointment id. It is
+ * LRU-bounded both by entry count and by an estimate of the heap the cached documents use.
+ * Writers call {@link #invalidate(Long)} once their write is stored; a load that overlaps
+ * any invalidation is returned but not cached, so a slow read cannot put back stale data.
+ */
+@Component
+public class PrescriptionCache {
+
+    // Rough per-object costs on a 64-bit JVM with compressed oops
+    private static final long ENTRY_OVERHEAD = 96;
+    private static final long PRESCRIPTION_OVERHEAD = 64;
+    private static final long STRING_OVERHEAD = 40;
+
+    @Value("${prescription.cache.max-entries:10000}")
+    private int maxEntries;
+
+    @Value("${prescription.cache.max-bytes:16777216}")
+    private long maxBytes;
+
+    private record Entry(List<Prescription> prescriptions, long bytes) {
+    }
+
+    private final LinkedHashMap<Long, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytes;
+    private final AtomicLong generation = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public List<Prescription> get(Long appointmentId, Supplier<List<Prescription>> loader) {
+        List<Prescription> cached = lookup(appointmentId);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+        long loadedAt = generation.get();
+        List<Prescription> loaded = List.copyOf(loader.get());
+        put(appointmentId, loaded, loadedAt);
+        return loaded;
+    }
+
+    /**
+     * Prescriptions for each id, in the order given; the loader is called once, with only
+     * the ids that were not cached, and its result is split by appointment id.
+     */
+    public Map<Long, List<Prescription>> getAll(Collection<Long> appointmentIds,
+                                                Function<Set<Long>, List<Prescription>> loader) {
+        Map<Long, List<Prescription>> result = new LinkedHashMap<>();
+        Set<Long> missing = new LinkedHashSet<>();
+        for (Long appointmentId : appointmentIds) {
+            List<Prescription> cached = lookup(appointmentId);
+            result.put(appointmentId, cached);
+            if (cached == null) {
+                missing.add(appointmentId);
+            }
+        }
+        hits.add(result.size() - missing.size());
+        misses.add(missing.size());
+        if (missing.isEmpty()) {
+            return result;
+        }
+
+        long loadedAt = generation.get();
+        Map<Long, List<Prescription>> loaded = new HashMap<>();
+        for (Long appointmentId : missing) {
+            loaded.put(appointmentId, new ArrayList<>());
+        }
+        for (Prescription prescription : loader.apply(missing)) {
+            loaded.get(prescription.getAppointmentId()).add(prescription);
+        }
+        loaded.forEach((appointmentId, prescriptions) -> {
+            List<Prescription> copy = List.copyOf(prescriptions);
+            result.put(appointmentId, copy);
+            put(appointmentId, copy, loadedAt);
+        });
+        return result;
+    }
+
+    // Call after the write has been stored
+    public void invalidate(Long appointmentId) {
+        generation.incrementAndGet();
+        synchronized (entries) {
+            Entry removed = entries.remove(appointmentId);
+            if (removed != null) {
+                bytes -= removed.bytes();
+            }
+        }
+    }
+
+    public Map<String, Object> stats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        synchronized (entries) {
+            stats.put("entries", entries.size());
+            stats.put("estimatedBytes", bytes);
+        }
+        stats.put("maxEntries", maxEntries);
+        stats.put("maxBytes", maxBytes);
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("hitRate", hitCount + missCount == 0 ? 0.0 : (double) hitCount / (hitCount + missCount));
+        stats.put("evictions", evictions.sum());
+        return stats;
+    }
+
+    private List<Prescription> lookup(Long appointmentId) {
+        synchronized (entries) {
+            Entry entry = entries.get(appointmentId);
+            return entry == null ? null : entry.prescriptions();
+        }
+    }
+
+    private void put(Long appointmentId, List<Prescription> prescriptions, long loadedAt) {
+        long size = estimateBytes(prescriptions);
+        if (maxEntries <= 0 || size > maxBytes) {
+            return;
+        }
+        synchronized (entries) {
+            // An invalidation ran while this was loading; the result may predate it
+            if (generation.get() != loadedAt) {
+                return;
+            }
+            Entry previous = entries.put(appointmentId, new Entry(prescriptions, size));
+            bytes += size - (previous == null ? 0 : previous.bytes());
+            Iterator<Entry> eldest = entries.values().iterator();
+            while (entries.size() > maxEntries || bytes > maxBytes) {
+                bytes -= eldest.next().bytes();
+                eldest.remove();
+                evictions.increment();
+            }
+        }
+    }
+
+    static long estimateBytes(List<Prescription> prescriptions) {
+        long size = ENTRY_OVERHEAD;
+        for (Prescription prescription : prescriptions) {
+            size += PRESCRIPTION_OVERHEAD
+                + estimateBytes(prescription.getPatientName())
+                + estimateBytes(prescription.getMedication())
+                + estimateBytes(prescription.getDosage())
+                + estimateBytes(prescription.getDoctorNotes());
+        }
+        return size;
+    }
+
+    private static long estimateBytes(String value) {
+        return value == null ? 0 : STRING_OVERHEAD + value.length();
+    }
+}
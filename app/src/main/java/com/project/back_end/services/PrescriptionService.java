@@ -2,29 +2,64 @@ package com.project.back_end.services;
 
 import com.project.back_end.models.Prescription;
 import com.project.back_end.repo.PrescriptionRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class PrescriptionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PrescriptionService.class);
     
+    private static final ObjectId FIRST_ID = new ObjectId("000000000000000000000000");
+
     private final PrescriptionRepository prescriptionRepository;
+    private final Validator validator;
+    private final PrescriptionWriteBehind writeBehind;
+    private final PrescriptionCache prescriptionCache;
 
     @Autowired
-    public PrescriptionService(PrescriptionRepository prescriptionRepository) {
+    public PrescriptionService(PrescriptionRepository prescriptionRepository, Validator validator,
+                               PrescriptionWriteBehind writeBehind, PrescriptionCache prescriptionCache) {
         this.prescriptionRepository = prescriptionRepository;
+        this.validator = validator;
+        this.writeBehind = writeBehind;
+        this.prescriptionCache = prescriptionCache;
     }
 
     public ResponseEntity<Map<String, String>> savePrescription(Prescription prescription) {
         Map<String, String> response = new HashMap<>();
         try {
+            // Write-behind: acknowledge once queued; reads of the appointment already include it
+            CompletableFuture<Void> queued = writeBehind.isEnabled() ? writeBehind.submit(prescription) : null;
+            if (queued != null) {
+                // Now, so the next read goes through the queue, and once the outcome is known
+                prescriptionCache.invalidate(prescription.getAppointmentId());
+                queued.whenComplete((ignored, error) -> {
+                    prescriptionCache.invalidate(prescription.getAppointmentId());
+                    if (error != null) {
+                        logger.error("Queued prescription for appointment {} was not saved",
+                            prescription.getAppointmentId(), error);
+                    }
+                });
+                response.put("message", "Prescription queued");
+                return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+            }
+
+            // Queue disabled, full or shutting down
             prescriptionRepository.save(prescription);
+            prescriptionCache.invalidate(prescription.getAppointmentId());
             response.put("message", "Prescription saved");
             return ResponseEntity.status(HttpStatus.CREATED).body(response);
         } catch (Exception e) {
@@ -33,10 +68,53 @@ public class PrescriptionService {
         }
     }
 
+    /**
+     * Validates every prescription and writes the valid ones in one unordered bulk insert.
+     * The response has one result per submitted item, in order: "created", "invalid" (not
+     * written) or "failed" (rejected by Mongo). 201 if all were created, 207 otherwise.
+     */
+    public ResponseEntity<Map<String, Object>> savePrescriptions(List<Prescription> prescriptions) {
+        Map<String, Object> response = new HashMap<>();
+        List<Map<String, Object>> results = new ArrayList<>(prescriptions.size());
+        List<Prescription> valid = new ArrayList<>();
+        // Position in the bulk write -> position in the request
+        List<Integer> positions = new ArrayList<>();
+
+        for (int i = 0; i < prescriptions.size(); i++) {
+            Prescription prescription = prescriptions.get(i);
+            String violation = firstViolation(prescription);
+            if (violation != null) {
+                results.add(result(i, "invalid", violation));
+            } else {
+                results.add(result(i, "created", null));
+                valid.add(prescription);
+                positions.add(i);
+            }
+        }
+
+        try {
+            Map<Integer, String> errors = prescriptionRepository.insertUnordered(valid);
+            valid.forEach(prescription -> prescriptionCache.invalidate(prescription.getAppointmentId()));
+            errors.forEach((index, message) ->
+                results.set(positions.get(index), result(positions.get(index), "failed", message)));
+        } catch (Exception e) {
+            response.put("error", "Failed to save prescriptions");
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+
+        long created = results.stream().filter(r -> "created".equals(r.get("status"))).count();
+        response.put("results", results);
+        response.put("created", created);
+        response.put("failed", results.size() - created);
+        HttpStatus status = created == results.size() ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS;
+        return ResponseEntity.status(status).body(response);
+    }
+
     public ResponseEntity<Map<String, Object>> getPrescription(Long appointmentId) {
         Map<String, Object> response = new HashMap<>();
         try {
-            List<Prescription> prescriptions = prescriptionRepository.findByAppointmentId(appointmentId);
+            List<Prescription> prescriptions = prescriptionCache.get(appointmentId, () -> writeBehind.read(
+                List.of(appointmentId), () -> prescriptionRepository.findByAppointmentId(appointmentId)));
             response.put("prescription", prescriptions);
             return ResponseEntity.ok(response);
         } catch (Exception e) {
@@ -44,4 +122,80 @@ public class PrescriptionService {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
         }
     }
+
+    /**
+     * Prescriptions for many appointments in one query, keyed by appointment id. Every
+     * requested id is present in the result, with an empty list if it has no prescription.
+     */
+    public ResponseEntity<Map<String, Object>> getPrescriptions(Collection<Long> appointmentIds) {
+        Map<String, Object> response = new HashMap<>();
+        try {
+            // Only appointments missing from the cache are queried, all in one lookup
+            Map<Long, List<Prescription>> byAppointment = prescriptionCache.getAll(appointmentIds,
+                missing -> writeBehind.read(missing, () -> prescriptionRepository.findByAppointmentIdIn(missing)));
+            response.put("prescriptions", byAppointment);
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            response.put("error", "Failed to retrieve prescriptions");
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+
+    /**
+     * Prescriptions created in [from, to), oldest first, to second precision. Pages are keyed
+     * by id: pass back the previous page's nextCursor, which is null on the last page.
+     */
+    public Map<String, Object> getPrescriptionsCreatedBetween(Instant from, Instant to, String cursor, int size) {
+        if (cursor != null && !ObjectId.isValid(cursor)) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        ObjectId after = cursor == null ? FIRST_ID : new ObjectId(cursor);
+        List<Prescription> prescriptions = prescriptionRepository.findCreatedBetween(
+            firstIdAt(from), firstIdAt(to), after, PageRequest.of(0, size + 1));
+
+        String nextCursor = null;
+        if (prescriptions.size() > size) {
+            prescriptions = new ArrayList<>(prescriptions.subList(0, size));
+            nextCursor = prescriptions.get(size - 1).getId();
+        }
+        Map<String, Object> response = new HashMap<>();
+        response.put("prescriptions", prescriptions);
+        response.put("nextCursor", nextCursor);
+        return response;
+    }
+
+    // Newest first, read backwards off the _id index
+    public Map<String, Object> getLatestPrescriptions(int limit) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("prescriptions", prescriptionRepository.findAllByOrderByIdDesc(PageRequest.of(0, limit)));
+        return response;
+    }
+
+    // The smallest ObjectId of that second: four timestamp bytes followed by zeros
+    static ObjectId firstIdAt(Instant instant) {
+        long seconds = Math.max(0, Math.min(instant.getEpochSecond(), 0xFFFFFFFFL));
+        return new ObjectId(String.format("%08x", seconds) + "0000000000000000");
+    }
+
+    private String firstViolation(Prescription prescription) {
+        if (prescription == null) {
+            return "Prescription cannot be null";
+        }
+        Set<ConstraintViolation<Prescription>> violations = validator.validate(prescription);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        ConstraintViolation<Prescription> violation = violations.iterator().next();
+        return violation.getPropertyPath() + ": " + violation.getMessage();
+    }
+
+    private static Map<String, Object> result(int index, String status, String error) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("index", index);
+        result.put("status", status);
+        if (error != null) {
+            result.put("error", error);
+        }
+        return result;
+    }
 }
@@ -0,0 +1,233 @@
+package com.project.back_end.services;
+
+import com.project.back_end.config.PrescriptionIdCallback;
+import com.project.back_end.models.Prescription;
+import com.project.back_end.repo.PrescriptionRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Optional write-behind queue for prescription saves. Submitted prescriptions wait in a
+ * bounded queue; one flusher thread groups them into batches (up to batch-size, or whatever
+ * arrived within window-millis of the first) and writes each batch with one unordered bulk
+ * insert. Until its batch is written a prescription stays visible to reads of its
+ * appointment, and a read that overlaps the write of its appointment's batch waits for it,
+ * so a reader never sees a prescription twice or not at all. Shutdown drains the queue.
+ */
+@Component
+public class PrescriptionWriteBehind {
+
+    private static final Logger logger = LoggerFactory.getLogger(PrescriptionWriteBehind.class);
+    // Longest the flusher waits before looking at the shutdown flag again
+    private static final long POLL_MILLIS = 100;
+
+    @Value("${prescription.write-behind.enabled:false}")
+    private boolean enabled;
+
+    @Value("${prescription.write-behind.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${prescription.write-behind.batch-size:100}")
+    private int batchSize;
+
+    @Value("${prescription.write-behind.window-millis:20}")
+    private long windowMillis;
+
+    @Value("${prescription.write-behind.drain-timeout-seconds:10}")
+    private long drainTimeoutSeconds;
+
+    private record Entry(Prescription prescription, CompletableFuture<Void> done, AtomicBoolean flushing) {
+    }
+
+    private final PrescriptionRepository prescriptionRepository;
+    private final Map<Long, List<Entry>> pendingByAppointment = new ConcurrentHashMap<>();
+    private BlockingQueue<Entry> queue;
+    private Thread flusher;
+    private volatile boolean closed;
+
+    @Autowired
+    public PrescriptionWriteBehind(PrescriptionRepository prescriptionRepository) {
+        this.prescriptionRepository = prescriptionRepository;
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        flusher = new Thread(this::run, "prescription-write-behind");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    // Stop accepting writes and flush everything already queued
+    @PreDestroy
+    void stop() throws InterruptedException {
+        if (!enabled) {
+            return;
+        }
+        synchronized (this) {
+            closed = true;
+        }
+        flusher.join(TimeUnit.SECONDS.toMillis(drainTimeoutSeconds));
+        if (flusher.isAlive()) {
+            logger.warn("Write-behind drain timed out with {} prescriptions queued", queue.size());
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Queues the prescription and returns a future completed once it is written, or completed
+     * exceptionally if Mongo rejects it. Returns null when the queue is full or shutting down;
+     * the caller should then save synchronously.
+     */
+    public CompletableFuture<Void> submit(Prescription prescription) {
+        // Now rather than at flush, so reads of the queued copy show the id it will be stored with
+        PrescriptionIdCallback.assignId(prescription);
+        Entry entry = new Entry(prescription, new CompletableFuture<>(), new AtomicBoolean());
+        synchronized (this) {
+            // Pending writes are tracked per appointment; anything else goes the synchronous way
+            if (closed || prescription.getAppointmentId() == null) {
+                return null;
+            }
+            // Visible to readers before the flusher can possibly take it. Added inside compute: the
+            // flusher's removePending could otherwise drop the list from the map before the add
+            pendingByAppointment.compute(prescription.getAppointmentId(), (id, pending) -> {
+                List<Entry> entries = pending != null ? pending : Collections.synchronizedList(new ArrayList<>());
+                entries.add(entry);
+                return entries;
+            });
+            if (!queue.offer(entry)) {
+                removePending(entry);
+                return null;
+            }
+        }
+        return entry.done();
+    }
+
+    /**
+     * Runs the stored-prescription read for these appointments and adds the ones still queued.
+     * Only a read overlapping the write of one of its own appointments waits, and only for
+     * that batch.
+     */
+    public List<Prescription> read(Collection<Long> appointmentIds, Supplier<List<Prescription>> stored) {
+        if (!enabled || appointmentIds.stream().noneMatch(pendingByAppointment::containsKey)) {
+            return stored.get();
+        }
+        while (true) {
+            List<Entry> pending = new ArrayList<>();
+            for (Long appointmentId : appointmentIds) {
+                List<Entry> entries = pendingByAppointment.get(appointmentId);
+                if (entries != null) {
+                    synchronized (entries) {
+                        pending.addAll(entries);
+                    }
+                }
+            }
+            Entry landing = inFlight(pending);
+            if (landing == null) {
+                List<Prescription> result = new ArrayList<>(stored.get());
+                // A batch that started meanwhile may or may not be in what we just read
+                landing = inFlight(pending);
+                if (landing == null) {
+                    pending.forEach(entry -> result.add(entry.prescription()));
+                    return result;
+                }
+            }
+            // Completed only after the batch is written and out of the pending map
+            landing.done().handle((ignored, error) -> null).join();
+        }
+    }
+
+    private static Entry inFlight(List<Entry> pending) {
+        for (Entry entry : pending) {
+            if (entry.flushing().get()) {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    private void run() {
+        List<Entry> batch = new ArrayList<>(batchSize);
+        while (!closed || !queue.isEmpty()) {
+            try {
+                Entry first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(windowMillis);
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0 || closed) {
+                        break;
+                    }
+                    // In slices, so a shutdown does not wait out the rest of the window
+                    Entry next = queue.poll(Math.min(remaining, TimeUnit.MILLISECONDS.toNanos(POLL_MILLIS)),
+                            TimeUnit.NANOSECONDS);
+                    if (next != null) {
+                        batch.add(next);
+                    }
+                }
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (RuntimeException e) {
+                logger.error("Write-behind flusher failed", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<Entry> batch) {
+        List<Prescription> prescriptions = new ArrayList<>(batch.size());
+        batch.forEach(entry -> prescriptions.add(entry.prescription()));
+
+        Map<Integer, String> errors = Map.of();
+        Exception failure = null;
+        // Set before the write starts, so readers know their result may already include it
+        batch.forEach(entry -> entry.flushing().set(true));
+        try {
+            errors = prescriptionRepository.insertUnordered(prescriptions);
+        } catch (Exception e) {
+            failure = e;
+        }
+        batch.forEach(this::removePending);
+
+        for (int i = 0; i < batch.size(); i++) {
+            CompletableFuture<Void> done = batch.get(i).done();
+            if (failure != null) {
+                done.completeExceptionally(failure);
+            } else if (errors.containsKey(i)) {
+                done.completeExceptionally(new IllegalStateException(errors.get(i)));
+            } else {
+                done.complete(null);
+            }
+        }
+    }
+
+    private void removePending(Entry entry) {
+        pendingByAppointment.computeIfPresent(entry.prescription().getAppointmentId(), (id, pending) -> {
+            pending.remove(entry);
+            return pending.isEmpty() ? null : pending;
+        });
+    }
+}
@@ -0,0 +1,124 @@
+package com.project.back_end.services;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * Compressed prefix trie mapping lower-case keys to sets of values. Edges carry whole
+ * substrings, so a chain of single-child nodes collapses into one edge. Not thread-safe;
+ * callers guard access.
+ */
+final class RadixTrie<V> {
+
+    private static final class Node<V> {
+        String label;
+        final TreeMap<Character, Node<V>> children = new TreeMap<>();
+        final Set<V> values = new LinkedHashSet<>();
+
+        Node(String label) {
+            this.label = label;
+        }
+    }
+
+    private final Node<V> root = new Node<>("");
+
+    void add(String key, V value) {
+        Node<V> node = root;
+        int i = 0;
+        while (i < key.length()) {
+            Node<V> child = node.children.get(key.charAt(i));
+            if (child == null) {
+                Node<V> leaf = new Node<>(key.substring(i));
+                node.children.put(key.charAt(i), leaf);
+                node = leaf;
+                i = key.length();
+                break;
+            }
+            int common = commonPrefix(child.label, key, i);
+            if (common < child.label.length()) {
+                // Split the edge at the point where the key diverges
+                Node<V> middle = new Node<>(child.label.substring(0, common));
+                child.label = child.label.substring(common);
+                middle.children.put(child.label.charAt(0), child);
+                node.children.put(middle.label.charAt(0), middle);
+                child = middle;
+            }
+            node = child;
+            i += common;
+        }
+        node.values.add(value);
+    }
+
+    void remove(String key, V value) {
+        Deque<Node<V>> path = new ArrayDeque<>();
+        Node<V> node = root;
+        int i = 0;
+        while (i < key.length()) {
+            Node<V> child = node.children.get(key.charAt(i));
+            if (child == null || !key.startsWith(child.label, i)) {
+                return;
+            }
+            path.push(node);
+            node = child;
+            i += child.label.length();
+        }
+        if (!node.values.remove(value)) {
+            return;
+        }
+
+        // Drop empty leaves and re-merge nodes left with a single child
+        while (!path.isEmpty()) {
+            Node<V> parent = path.pop();
+            if (node.values.isEmpty() && node.children.isEmpty()) {
+                parent.children.remove(node.label.charAt(0));
+            } else if (node.values.isEmpty() && node.children.size() == 1) {
+                Node<V> only = node.children.firstEntry().getValue();
+                only.label = node.label + only.label;
+                parent.children.put(only.label.charAt(0), only);
+            }
+            node = parent;
+        }
+    }
+
+    // Values under the prefix in key order, stopping once the visitor returns false
+    void visit(String prefix, Predicate<V> visitor) {
+        Node<V> node = root;
+        int i = 0;
+        while (i < prefix.length()) {
+            Node<V> child = node.children.get(prefix.charAt(i));
+            if (child == null) {
+                return;
+            }
+            int common = commonPrefix(child.label, prefix, i);
+            if (i + common < prefix.length() && common < child.label.length()) {
+                return;
+            }
+            node = child;
+            i += common;
+        }
+        walk(node, visitor);
+    }
+
+    private boolean walk(Node<V> node, Predicate<V> visitor) {
+        for (V value : node.values) {
+            if (!visitor.test(value)) {
+                return false;
+            }
+        }
+        for (Node<V> child : node.children.values()) {
+            if (!walk(child, visitor)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int commonPrefix(String label, String key, int offset) {
+        int n = Math.min(label.length(), key.length() - offset);
+        int i = 0;
+        while (i < n && label.charAt(i) == key.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+}
@@ -0,0 +1,60 @@
+package com.project.back_end.services;
+
+import com.project.back_end.models.Prescription;
+import com.project.back_end.repo.ReactivePrescriptionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.*;
+
+/**
+ * Non-blocking variant of PrescriptionService's single save and lookups. Nothing here waits
+ * on Mongo: the returned Mono completes on a driver thread, so the servlet thread that
+ * received the request is free for other work during the round trip.
+ */
+@Service
+@ConditionalOnProperty(name = "prescription.reactive.enabled", havingValue = "true")
+public class ReactivePrescriptionService {
+
+    private final ReactivePrescriptionRepository prescriptionRepository;
+
+    @Autowired
+    public ReactivePrescriptionService(ReactivePrescriptionRepository prescriptionRepository) {
+        this.prescriptionRepository = prescriptionRepository;
+    }
+
+    public Mono<ResponseEntity<Map<String, String>>> savePrescription(Prescription prescription) {
+        return prescriptionRepository.save(prescription)
+            .map(saved -> ResponseEntity.status(HttpStatus.CREATED).body(Map.of("message", "Prescription saved")))
+            .onErrorResume(e -> Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(Map.of("error", "Failed to save prescription"))));
+    }
+
+    public Mono<ResponseEntity<Map<String, Object>>> getPrescription(Long appointmentId) {
+        return prescriptionRepository.findByAppointmentId(appointmentId)
+            .collectList()
+            .map(prescriptions -> ResponseEntity.ok(Map.<String, Object>of("prescription", prescriptions)))
+            .onErrorResume(e -> Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(Map.of("error", "Failed to retrieve prescription"))));
+    }
+
+    // Same shape as PrescriptionService.getPrescriptions
+    public Mono<ResponseEntity<Map<String, Object>>> getPrescriptions(Collection<Long> appointmentIds) {
+        Map<Long, List<Prescription>> byAppointment = new LinkedHashMap<>();
+        for (Long appointmentId : appointmentIds) {
+            byAppointment.put(appointmentId, new ArrayList<>());
+        }
+        if (byAppointment.isEmpty()) {
+            return Mono.just(ResponseEntity.ok(Map.of("prescriptions", byAppointment)));
+        }
+        return prescriptionRepository.findByAppointmentIdIn(byAppointment.keySet())
+            .doOnNext(prescription -> byAppointment.get(prescription.getAppointmentId()).add(prescription))
+            .then(Mono.fromSupplier(() -> ResponseEntity.ok(Map.<String, Object>of("prescriptions", byAppointment))))
+            .onErrorResume(e -> Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(Map.of("error", "Failed to retrieve prescriptions"))));
+    }
+}
@@ -0,0 +1,77 @@
+package com.project.back_end.services;
+
+import com.project.back_end.models.Doctor;
+import com.project.back_end.repo.DoctorRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compiled schedules per doctor, built on first use and evicted by {@link DoctorService}
+ * once a save, update or delete of the doctor has committed. A load that overlaps an
+ * eviction is returned but not cached, so it cannot put back the schedule just replaced.
+ */
+@Component
+public class ScheduleRegistry {
+
+    private final DoctorRepository doctorRepository;
+    private final Map<Long, CompiledSchedule> schedules = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    @Autowired
+    public ScheduleRegistry(DoctorRepository doctorRepository) {
+        this.doctorRepository = doctorRepository;
+    }
+
+    // Returns null if the doctor does not exist
+    @Transactional(readOnly = true)
+    public CompiledSchedule get(Long doctorId) {
+        return getAll(List.of(doctorId)).get(doctorId);
+    }
+
+    // Schedules of the existing doctors among doctorIds, loading all missing ones in one query
+    @Transactional(readOnly = true)
+    public Map<Long, CompiledSchedule> getAll(Collection<Long> doctorIds) {
+        Map<Long, CompiledSchedule> result = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long doctorId : doctorIds) {
+            CompiledSchedule schedule = schedules.get(doctorId);
+            if (schedule != null) {
+                result.put(doctorId, schedule);
+            } else {
+                missing.add(doctorId);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            long loadedAt = generation.get();
+            for (Doctor doctor : doctorRepository.findWithAvailableTimesByIdIn(missing)) {
+                CompiledSchedule schedule = CompiledSchedule.compile(doctor.getAvailableTimes(), doctor.getScheduleExceptions());
+                result.put(doctor.getId(), schedule);
+                cache(doctor.getId(), schedule, loadedAt);
+            }
+        }
+        return result;
+    }
+
+    // Call after the change to the doctor has committed
+    public void evict(Long doctorId) {
+        synchronized (schedules) {
+            generation.incrementAndGet();
+            schedules.remove(doctorId);
+        }
+    }
+
+    private void cache(Long doctorId, CompiledSchedule schedule, long loadedAt) {
+        synchronized (schedules) {
+            // An eviction ran while this was loading; the schedule may predate it
+            if (generation.get() == loadedAt) {
+                schedules.put(doctorId, schedule);
+            }
+        }
+    }
+}
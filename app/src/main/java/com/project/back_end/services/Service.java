@@ -11,11 +11,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
-import java.time.LocalDate;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import java.util.concurrent.locks.Lock;
 
 @org.springframework.stereotype.Service
 public class Service {
@@ -26,6 +24,8 @@ public class Service {
     private final PatientRepository patientRepository;
     private final DoctorService doctorService;
     private final PatientService patientService;
+    private final SlotLocks slotLocks;
+    private final SlotHoldRegistry slotHoldRegistry;
 
     @Autowired
     public Service(TokenService tokenService,
@@ -33,13 +33,17 @@ public class Service {
                    DoctorRepository doctorRepository,
                    PatientRepository patientRepository,
                    DoctorService doctorService,
-                   PatientService patientService) {
+                   PatientService patientService,
+                   SlotLocks slotLocks,
+                   SlotHoldRegistry slotHoldRegistry) {
         this.tokenService = tokenService;
         this.adminRepository = adminRepository;
         this.doctorRepository = doctorRepository;
         this.patientRepository = patientRepository;
         this.doctorService = doctorService;
         this.patientService = patientService;
+        this.slotLocks = slotLocks;
+        this.slotHoldRegistry = slotHoldRegistry;
     }
 
     public ResponseEntity<Map<String, String>> validateToken(String token, String user) {
@@ -85,76 +89,42 @@ public class Service {
     }
 
     public Map<String, Object> filterDoctor(String name, String specialty, String time) {
-        Map<String, Object> response = new HashMap<>();
-        
+        // Empty filters are skipped; with none at all every doctor is returned
+        Map<String, Object> response = doctorService.filterDoctorsInMemory(name, specialty, time);
+        return response != null ? response : doctorService.filterDoctors(name, specialty, time);
+    }
+
+    public int validateAppointment(Long doctorId, java.time.LocalDateTime appointmentTime) {
         try {
-            // All three filters provided
-            if (name != null && !name.isEmpty() && specialty != null && !specialty.isEmpty() && time != null && !time.isEmpty()) {
-                return doctorService.filterDoctorsByNameSpecilityandTime(name, specialty, time);
-            }
-            // Name and specialty
-            else if (name != null && !name.isEmpty() && specialty != null && !specialty.isEmpty()) {
-                return doctorService.filterDoctorByNameAndSpecility(name, specialty);
-            }
-            // Name and time
-            else if (name != null && !name.isEmpty() && time != null && !time.isEmpty()) {
-                return doctorService.filterDoctorByNameAndTime(name, time);
-            }
-            // Specialty and time
-            else if (specialty != null && !specialty.isEmpty() && time != null && !time.isEmpty()) {
-                return doctorService.filterDoctorByTimeAndSpecility(specialty, time);
-            }
-            // Only name
-            else if (name != null && !name.isEmpty()) {
-                return doctorService.findDoctorByName(name);
-            }
-            // Only specialty
-            else if (specialty != null && !specialty.isEmpty()) {
-                return doctorService.filterDoctorBySpecility(specialty);
-            }
-            // Only time
-            else if (time != null && !time.isEmpty()) {
-                return doctorService.filterDoctorsByTime(time);
-            }
-            // No filters - return all doctors
-            else {
-                response.put("doctors", doctorService.getDoctors());
-                return response;
-            }
+            // -1: doctor doesn't exist, 1: valid appointment time, 0: time unavailable
+            return doctorService.validateSlot(doctorId, appointmentTime);
         } catch (Exception e) {
-            response.put("error", "Failed to filter doctors");
-            return response;
+            return 0; // Error occurred, treat as unavailable
         }
     }
 
-    public int validateAppointment(Long doctorId, java.time.LocalDateTime appointmentTime) {
+    public int validateAppointment(Long doctorId, java.time.LocalDateTime appointmentTime, Long holderId) {
+        Lock lock = slotLocks.lockFor(doctorId, appointmentTime);
+        lock.lock();
         try {
-            Optional<com.project.back_end.models.Doctor> doctorOpt = doctorRepository.findById(doctorId);
-            
-            if (doctorOpt.isEmpty()) {
-                return -1; // Doctor doesn't exist
-            }
-
-            LocalDate appointmentDate = appointmentTime.toLocalDate();
-            List<String> availableSlots = doctorService.getDoctorAvailability(doctorId, appointmentDate);
-            
-            String requestedTime = appointmentTime.toLocalTime().toString();
-            
-            if (availableSlots.contains(requestedTime)) {
-                return 1; // Valid appointment time
-            } else {
-                return 0; // Time unavailable
+            // Same codes as above; a valid slot is also held for holderId until the hold expires
+            int result = doctorService.validateSlot(doctorId, appointmentTime, holderId);
+            if (result == 1 && !slotHoldRegistry.place(doctorId, appointmentTime, holderId)) {
+                return 0;
             }
+            return result;
         } catch (Exception e) {
-            return 0; // Error occurred, treat as unavailable
+            return 0;
+        } finally {
+            lock.unlock();
         }
     }
 
     public boolean validatePatient(Patient patient) {
         try {
-            Patient existingPatient = patientRepository.findByEmailOrPhone(patient.getEmail(), patient.getPhone());
-            
-            if (existingPatient != null) {
+            // Two unique-index probes instead of one OR query that cannot use either index
+            if (patientRepository.existsByEmail(patient.getEmail())
+                    || (patient.getPhone() != null && patientRepository.existsByPhoneNumber(patient.getPhone()))) {
                 return false; // Patient exists
             }
             
@@ -189,34 +159,23 @@ public class Service {
         }
     }
 
-    public ResponseEntity<Map<String, Object>> filterPatient(String condition, String name, String token) {
+    public ResponseEntity<Map<String, Object>> filterPatient(String condition, String name, Long patientId, String cursor, int size) {
         try {
-            String email = tokenService.extractEmail(token);
-            Patient patient = patientRepository.findByEmail(email);
-
-            if (patient == null) {
-                Map<String, Object> errorResponse = new HashMap<>();
-                errorResponse.put("error", "Patient not found");
-                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
-            }
-
-            Long patientId = patient.getId();
-
             // Both condition and doctor name provided
             if (condition != null && !condition.isEmpty() && name != null && !name.isEmpty()) {
-                return patientService.filterByDoctorAndCondition(condition, name, patientId);
+                return patientService.filterByDoctorAndCondition(condition, name, patientId, cursor, size);
             }
             // Only condition
             else if (condition != null && !condition.isEmpty()) {
-                return patientService.filterByCondition(condition, patientId);
+                return patientService.filterByCondition(condition, patientId, cursor, size);
             }
             // Only doctor name
             else if (name != null && !name.isEmpty()) {
-                return patientService.filterByDoctor(name, patientId);
+                return patientService.filterByDoctor(name, patientId, cursor, size);
             }
             // No filters - return all appointments
             else {
-                return patientService.getPatientAppointment(patientId, token);
+                return patientService.getPatientAppointment(patientId, patientId, cursor, size);
             }
         } catch (Exception e) {
             Map<String, Object> errorResponse = new HashMap<>();
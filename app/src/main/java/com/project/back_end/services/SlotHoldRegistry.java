@@ -0,0 +1,166 @@
+package com.project.back_end.services;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Short-lived holds on (doctor, slot) pairs taken while a patient confirms a booking.
+ * A patient holds at most one slot at a time. Lookups compare against each hold's
+ * deadline, and a hashed timing wheel sweeps expired holds once per tick.
+ */
+@Component
+public class SlotHoldRegistry {
+
+    private static final long TICK_MILLIS = 1000;
+    private static final int WHEEL_SIZE = 512;
+
+    @Value("${booking.hold.ttl-seconds:120}")
+    private long ttlSeconds;
+
+    private final Map<Long, Map<LocalDateTime, Hold>> holdsByDoctor = new ConcurrentHashMap<>();
+    private final Map<Long, Hold> holdsByHolder = new ConcurrentHashMap<>();
+    private final List<Queue<Hold>> wheel = new ArrayList<>(WHEEL_SIZE);
+    private final Clock clock;
+    private long lastTick;
+    private ScheduledExecutorService ticker;
+
+    public SlotHoldRegistry() {
+        this(Clock.systemUTC());
+    }
+
+    SlotHoldRegistry(Clock clock) {
+        this.clock = clock;
+        this.lastTick = clock.millis() / TICK_MILLIS;
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            wheel.add(new ConcurrentLinkedQueue<>());
+        }
+    }
+
+    @PostConstruct
+    void start() {
+        ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "slot-hold-wheel");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleAtFixedRate(this::tick, TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        ticker.shutdownNow();
+    }
+
+    public long getTtlSeconds() {
+        return ttlSeconds;
+    }
+
+    /**
+     * Places or renews a hold for the holder, releasing any other slot they held.
+     * Returns false if another holder already has a live hold on the slot.
+     */
+    public boolean place(Long doctorId, LocalDateTime slot, Long holderId) {
+        long now = clock.millis();
+        Hold hold = new Hold(doctorId, slot, holderId, now + ttlSeconds * 1000);
+        boolean[] placed = new boolean[1];
+
+        holdsByDoctor.computeIfAbsent(doctorId, id -> new ConcurrentHashMap<>())
+            .compute(slot, (time, existing) -> {
+                if (existing != null && existing.deadline() > now && !existing.holderId().equals(holderId)) {
+                    return existing;
+                }
+                placed[0] = true;
+                return hold;
+            });
+
+        if (!placed[0]) {
+            return false;
+        }
+
+        Hold previous = holdsByHolder.put(holderId, hold);
+        if (previous != null && !(previous.doctorId().equals(doctorId) && previous.slot().equals(slot))) {
+            remove(previous);
+        }
+        wheel.get((int) (bucketTick(hold.deadline()) % WHEEL_SIZE)).add(hold);
+        return true;
+    }
+
+    public boolean isHeld(Long doctorId, LocalDateTime slot) {
+        return liveHold(doctorId, slot) != null;
+    }
+
+    public boolean isHeldBy(Long doctorId, LocalDateTime slot, Long holderId) {
+        Hold hold = liveHold(doctorId, slot);
+        return hold != null && hold.holderId().equals(holderId);
+    }
+
+    public boolean isHeldByOther(Long doctorId, LocalDateTime slot, Long holderId) {
+        Hold hold = liveHold(doctorId, slot);
+        return hold != null && !hold.holderId().equals(holderId);
+    }
+
+    public void release(Long doctorId, LocalDateTime slot) {
+        Map<LocalDateTime, Hold> slots = holdsByDoctor.get(doctorId);
+        Hold hold = slots != null ? slots.get(slot) : null;
+        if (hold != null) {
+            remove(hold);
+        }
+    }
+
+    private Hold liveHold(Long doctorId, LocalDateTime slot) {
+        Map<LocalDateTime, Hold> slots = holdsByDoctor.get(doctorId);
+        Hold hold = slots != null ? slots.get(slot) : null;
+        return hold != null && hold.deadline() > clock.millis() ? hold : null;
+    }
+
+    private void remove(Hold hold) {
+        Map<LocalDateTime, Hold> slots = holdsByDoctor.get(hold.doctorId());
+        if (slots != null) {
+            slots.remove(hold.slot(), hold);
+        }
+        holdsByHolder.remove(hold.holderId(), hold);
+    }
+
+    // Runs once per TICK_MILLIS on the ticker thread
+    void tick() {
+        long now = clock.millis();
+        long currentTick = now / TICK_MILLIS;
+        // Holds whose deadline is further out than one wheel revolution stay for a later round
+        for (long tick = lastTick + 1; tick <= currentTick; tick++) {
+            wheel.get((int) (tick % WHEEL_SIZE)).removeIf(hold -> {
+                if (hold.deadline() > now) {
+                    return false;
+                }
+                remove(hold);
+                return true;
+            });
+        }
+        lastTick = currentTick;
+    }
+
+    // Holds not yet swept, live or expired
+    int size() {
+        return holdsByHolder.size();
+    }
+
+    private static long bucketTick(long deadline) {
+        return (deadline + TICK_MILLIS - 1) / TICK_MILLIS;
+    }
+
+    private record Hold(Long doctorId, LocalDateTime slot, Long holderId, long deadline) {
+    }
+}
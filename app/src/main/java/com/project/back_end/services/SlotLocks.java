@@ -0,0 +1,59 @@
+package com.project.back_end.services;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fixed pool of locks striped by (doctor, slot), so bookings for the same slot serialize
+ * while bookings for different slots almost never contend. Cross-instance safety comes
+ * from the unique key on appointment (doctor_id, appointment_time).
+ */
+@Component
+public class SlotLocks {
+
+    private final Lock[] stripes;
+    private final int mask;
+
+    public SlotLocks(@Value("${booking.lock-stripes:256}") int stripeCount) {
+        int size = Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1;
+        this.stripes = new Lock[size];
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    public Lock lockFor(Long doctorId, LocalDateTime slot) {
+        return stripes[stripe(doctorId, slot)];
+    }
+
+    /**
+     * Returns the distinct locks covering all given slots in stripe order. Acquiring them in
+     * this order keeps concurrent multi-slot bookings from deadlocking.
+     */
+    public List<Lock> locksFor(Long doctorId, Collection<LocalDateTime> slots) {
+        TreeSet<Integer> indexes = new TreeSet<>();
+        for (LocalDateTime slot : slots) {
+            indexes.add(stripe(doctorId, slot));
+        }
+        List<Lock> locks = new ArrayList<>(indexes.size());
+        for (int index : indexes) {
+            locks.add(stripes[index]);
+        }
+        return locks;
+    }
+
+    private int stripe(Long doctorId, LocalDateTime slot) {
+        int hash = 31 * doctorId.hashCode() + slot.hashCode();
+        hash ^= (hash >>> 16);
+        return hash & mask;
+    }
+}
@@ -0,0 +1,149 @@
+package com.project.back_end.services;
+
+import com.project.back_end.models.Doctor;
+import com.project.back_end.repo.DoctorRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Finds the earliest free slots across all doctors of a specialty. Each doctor's compiled
+ * schedule yields its candidate slots in time order, and a priority queue merges the
+ * doctors' next candidates. Booked slots are loaded one window of days at a time, so the
+ * search stops touching the database once enough slots are found.
+ */
+@Service
+public class SlotSearchService {
+
+    private static final int WINDOW_DAYS = 7;
+
+    private final DoctorRepository doctorRepository;
+    private final BookedSlotIndex bookedSlotIndex;
+    private final SlotHoldRegistry slotHoldRegistry;
+    private final ScheduleRegistry scheduleRegistry;
+
+    @Autowired
+    public SlotSearchService(DoctorRepository doctorRepository,
+                             BookedSlotIndex bookedSlotIndex,
+                             SlotHoldRegistry slotHoldRegistry,
+                             ScheduleRegistry scheduleRegistry) {
+        this.doctorRepository = doctorRepository;
+        this.bookedSlotIndex = bookedSlotIndex;
+        this.slotHoldRegistry = slotHoldRegistry;
+        this.scheduleRegistry = scheduleRegistry;
+    }
+
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> findNextAvailable(String specialty, int limit, int horizonDays) {
+        List<Map<String, Object>> results = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        LocalDate today = now.toLocalDate();
+        LocalDate horizonEnd = today.plusDays(horizonDays - 1L);
+
+        List<Doctor> doctors = doctorRepository.findBySpecialtyIgnoreCase(specialty);
+        Map<Long, CompiledSchedule> schedules = scheduleRegistry.getAll(
+            doctors.stream().map(Doctor::getId).collect(Collectors.toList()));
+
+        List<Cursor> cursors = new ArrayList<>();
+        for (Doctor doctor : doctors) {
+            CompiledSchedule schedule = schedules.get(doctor.getId());
+            if (schedule != null) {
+                Cursor cursor = new Cursor(doctor, schedule, today, horizonEnd);
+                if (!cursor.exhausted()) {
+                    cursors.add(cursor);
+                }
+            }
+        }
+        if (cursors.isEmpty()) {
+            return results;
+        }
+
+        Set<Long> doctorIds = cursors.stream().map(cursor -> cursor.doctor.getId()).collect(Collectors.toSet());
+        PriorityQueue<Cursor> queue = new PriorityQueue<>(
+            Comparator.comparing(Cursor::current).thenComparing(cursor -> cursor.doctor.getId()));
+
+        for (LocalDate windowStart = today; !windowStart.isAfter(horizonEnd) && results.size() < limit;
+                windowStart = windowStart.plusDays(WINDOW_DAYS)) {
+            LocalDate windowEnd = windowStart.plusDays(WINDOW_DAYS - 1L);
+            if (windowEnd.isAfter(horizonEnd)) {
+                windowEnd = horizonEnd;
+            }
+
+            Map<Long, Map<LocalDate, BitSet>> booked = bookedSlotIndex.loadRange(doctorIds, windowStart, windowEnd);
+            cursors.stream().filter(cursor -> !cursor.exhausted()).forEach(queue::add);
+
+            while (!queue.isEmpty() && results.size() < limit) {
+                Cursor cursor = queue.poll();
+                LocalDateTime candidate = cursor.current();
+
+                if (candidate.toLocalDate().isAfter(windowEnd)) {
+                    // Resume this doctor in the next window
+                    continue;
+                }
+
+                BitSet bookedSlots = booked.getOrDefault(cursor.doctor.getId(), Collections.emptyMap())
+                    .getOrDefault(candidate.toLocalDate(), BookedSlotIndex.EMPTY);
+                if (candidate.isAfter(now) && !bookedSlots.get(BookedSlotIndex.slot(candidate.toLocalTime()))
+                        && !slotHoldRegistry.isHeld(cursor.doctor.getId(), candidate)) {
+                    Map<String, Object> slot = new LinkedHashMap<>();
+                    slot.put("doctorId", cursor.doctor.getId());
+                    slot.put("doctorName", cursor.doctor.getName());
+                    slot.put("appointmentTime", candidate);
+                    results.add(slot);
+                }
+
+                cursor.advance();
+                if (!cursor.exhausted()) {
+                    queue.add(cursor);
+                }
+            }
+            queue.clear();
+        }
+        return results;
+    }
+
+    private static final class Cursor {
+
+        private final Doctor doctor;
+        private final CompiledSchedule schedule;
+        private final LocalDate lastDate;
+        private LocalDate date;
+        private int[] slots;
+        private int index;
+
+        private Cursor(Doctor doctor, CompiledSchedule schedule, LocalDate date, LocalDate lastDate) {
+            this.doctor = doctor;
+            this.schedule = schedule;
+            this.lastDate = lastDate;
+            this.date = date;
+            this.slots = schedule.slotsOn(date);
+            skipEmptyDays();
+        }
+
+        private LocalDateTime current() {
+            return date.atTime(CompiledSchedule.toTime(slots[index]));
+        }
+
+        private boolean exhausted() {
+            return date.isAfter(lastDate);
+        }
+
+        private void advance() {
+            index++;
+            skipEmptyDays();
+        }
+
+        private void skipEmptyDays() {
+            while (index >= slots.length && !exhausted()) {
+                date = date.plusDays(1);
+                slots = schedule.slotsOn(date);
+                index = 0;
+            }
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.project.back_end.services;
 
+import com.project.back_end.DTO.AuthPrincipal;
 import com.project.back_end.models.Admin;
 import com.project.back_end.models.Doctor;
 import com.project.back_end.models.Patient;
@@ -7,12 +8,11 @@ import com.project.back_end.repo.AdminRepository;
 import com.project.back_end.repo.DoctorRepository;
 import com.project.back_end.repo.PatientRepository;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import javax.crypto.SecretKey;
 import java.util.Date;
 
 @Component
@@ -21,21 +21,31 @@ public class TokenService {
     @Value("${jwt.secret}")
     private String jwtSecret;
 
+    @Value("${jwt.cache.max-entries:10000}")
+    private int verifiedTokenCacheSize;
+
+    private TokenVerifier tokenVerifier;
+
     private final AdminRepository adminRepository;
     private final DoctorRepository doctorRepository;
     private final PatientRepository patientRepository;
+    private final IdentityCache identityCache;
 
     @Autowired
     public TokenService(AdminRepository adminRepository,
                        DoctorRepository doctorRepository,
-                       PatientRepository patientRepository) {
+                       PatientRepository patientRepository,
+                       IdentityCache identityCache) {
         this.adminRepository = adminRepository;
         this.doctorRepository = doctorRepository;
         this.patientRepository = patientRepository;
+        this.identityCache = identityCache;
     }
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+    @PostConstruct
+    void initTokenVerifier() {
+        // Signing key and parser are immutable, so build them once instead of per call
+        this.tokenVerifier = new TokenVerifier(jwtSecret, verifiedTokenCacheSize);
     }
 
     public String generateToken(String identifier) {
@@ -46,37 +56,45 @@ public class TokenService {
                 .subject(identifier)
                 .issuedAt(now)
                 .expiration(expirationDate)
-                .signWith(getSigningKey())
+                .signWith(tokenVerifier.getSigningKey())
                 .compact();
     }
 
     public String extractEmail(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload()
-                .getSubject();
+        return tokenVerifier.verify(token).getSubject();
     }
 
     public boolean validateToken(String token, String user) {
+        return resolvePrincipal(token, user) != null;
+    }
+
+    public AuthPrincipal resolvePrincipal(String token, String user) {
         try {
             String identifier = extractEmail(token);
 
+            AuthPrincipal cached = identityCache.get(user, identifier);
+            if (cached != null) {
+                return cached;
+            }
+
+            AuthPrincipal principal = null;
             if ("admin".equalsIgnoreCase(user)) {
                 Admin admin = adminRepository.findByUsername(identifier);
-                return admin != null;
+                principal = admin != null ? new AuthPrincipal("admin", admin.getId(), identifier) : null;
             } else if ("doctor".equalsIgnoreCase(user)) {
                 Doctor doctor = doctorRepository.findByEmail(identifier);
-                return doctor != null;
+                principal = doctor != null ? new AuthPrincipal("doctor", doctor.getId(), identifier) : null;
             } else if ("patient".equalsIgnoreCase(user)) {
                 Patient patient = patientRepository.findByEmail(identifier);
-                return patient != null;
+                principal = patient != null ? new AuthPrincipal("patient", patient.getId(), identifier) : null;
             }
 
-            return false;
+            if (principal != null) {
+                identityCache.put(principal);
+            }
+            return principal;
         } catch (Exception e) {
-            return false;
+            return null;
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,79 @@
+package com.project.back_end.services;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.util.Base64;
+import java.util.Date;
+
+/**
+ * Verifies signed JWTs with a single signing key and parser built once, and remembers
+ * already-verified tokens (keyed by SHA-256 digest) until they expire, so repeat calls
+ * skip signature verification. The cache is a lock-free {@link ExpiringCache} bounded to
+ * roughly {@code maxEntries}; a maxEntries of 0 disables it.
+ */
+public class TokenVerifier {
+
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+    private final ExpiringCache<String, Claims> verified;
+
+    public TokenVerifier(String secret, int maxEntries) {
+        this(secret, maxEntries, Clock.systemUTC());
+    }
+
+    // The parser checks exp against the same clock as the cache
+    TokenVerifier(String secret, int maxEntries, Clock clock) {
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes());
+        this.parser = Jwts.parser()
+            .verifyWith(signingKey)
+            .clock(() -> new Date(clock.millis()))
+            .build();
+        this.verified = new ExpiringCache<>(maxEntries, clock);
+    }
+
+    public SecretKey getSigningKey() {
+        return signingKey;
+    }
+
+    /**
+     * Returns the claims of a valid token, throwing a {@link io.jsonwebtoken.JwtException}
+     * if the signature is invalid or the token has expired.
+     */
+    public Claims verify(String token) {
+        String key = digest(token);
+        Claims claims = verified.get(key);
+        if (claims != null) {
+            return claims;
+        }
+
+        claims = parser.parseSignedClaims(token).getPayload();
+        Date expiration = claims.getExpiration();
+        verified.put(key, claims, expiration == null ? Long.MAX_VALUE : expiration.getTime());
+        return claims;
+    }
+
+    public void invalidate(String token) {
+        verified.remove(digest(token));
+    }
+
+    public int size() {
+        return verified.size();
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
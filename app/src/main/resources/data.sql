@@ -1,32 +1,32 @@
 INSERT INTO admin (email, name)
 VALUES ('admin@1234', 'admin');
 
-INSERT INTO doctor_available_slots (doctor_id, available_slots) VALUES
-(1, '09:00-10:00'), (1, '10:00-11:00'), (1, '11:00-12:00'), (1, '14:00-15:00'),
-(2, '10:00-11:00'), (2, '11:00-12:00'), (2, '14:00-15:00'), (2, '15:00-16:00'),
-(3, '09:00-10:00'), (3, '11:00-12:00'), (3, '14:00-15:00'), (3, '16:00-17:00'),
-(4, '09:00-10:00'), (4, '10:00-11:00'), (4, '15:00-16:00'), (4, '16:00-17:00'),
-(5, '09:00-10:00'), (5, '10:00-11:00'), (5, '14:00-15:00'), (5, '15:00-16:00'),
-(6, '09:00-10:00'), (6, '10:00-11:00'), (6, '11:00-12:00'), (6, '14:00-15:00'),
-(7, '09:00-10:00'), (7, '10:00-11:00'), (7, '15:00-16:00'), (7, '16:00-17:00'),
-(8, '10:00-11:00'), (8, '11:00-12:00'), (8, '14:00-15:00'), (8, '15:00-16:00'),
-(9, '09:00-10:00'), (9, '11:00-12:00'), (9, '13:00-14:00'), (9, '14:00-15:00'),
-(10, '10:00-11:00'), (10, '11:00-12:00'), (10, '14:00-15:00'), (10, '16:00-17:00'),
-(11, '09:00-10:00'), (11, '12:00-13:00'), (11, '14:00-15:00'), (11, '15:00-16:00'),
-(12, '10:00-11:00'), (12, '11:00-12:00'), (12, '13:00-14:00'), (12, '14:00-15:00'),
-(13, '13:00-14:00'), (13, '14:00-15:00'), (13, '15:00-16:00'), (13, '16:00-17:00'),
-(14, '09:00-10:00'), (14, '10:00-11:00'), (14, '14:00-15:00'), (14, '16:00-17:00'),
-(15, '10:00-11:00'), (15, '11:00-12:00'), (15, '13:00-14:00'), (15, '14:00-15:00'),
-(16, '09:00-10:00'), (16, '11:00-12:00'), (16, '14:00-15:00'), (16, '16:00-17:00'),
-(17, '09:00-10:00'), (17, '10:00-11:00'), (17, '11:00-12:00'), (17, '12:00-13:00'),
-(18, '09:00-10:00'), (18, '10:00-11:00'), (18, '11:00-12:00'), (18, '15:00-16:00'),
-(19, '13:00-14:00'), (19, '14:00-15:00'), (19, '15:00-16:00'), (19, '16:00-17:00'),
-(20, '10:00-11:00'), (20, '13:00-14:00'), (20, '14:00-15:00'), (20, '15:00-16:00'),
-(21, '09:00-10:00'), (21, '10:00-11:00'), (21, '14:00-15:00'), (21, '15:00-16:00'),
-(22, '10:00-11:00'), (22, '11:00-12:00'), (22, '14:00-15:00'), (22, '16:00-17:00'),
-(23, '11:00-12:00'), (23, '13:00-14:00'), (23, '15:00-16:00'), (23, '16:00-17:00'),
-(24, '12:00-13:00'), (24, '13:00-14:00'), (24, '14:00-15:00'), (24, '15:00-16:00'),
-(25, '09:00-10:00'), (25, '10:00-11:00'), (25, '14:00-15:00'), (25, '15:00-16:00');
+INSERT INTO doctor_available_times (doctor_id, start_time, end_time) VALUES
+(1, '09:00:00', '10:00:00'), (1, '10:00:00', '11:00:00'), (1, '11:00:00', '12:00:00'), (1, '14:00:00', '15:00:00'),
+(2, '10:00:00', '11:00:00'), (2, '11:00:00', '12:00:00'), (2, '14:00:00', '15:00:00'), (2, '15:00:00', '16:00:00'),
+(3, '09:00:00', '10:00:00'), (3, '11:00:00', '12:00:00'), (3, '14:00:00', '15:00:00'), (3, '16:00:00', '17:00:00'),
+(4, '09:00:00', '10:00:00'), (4, '10:00:00', '11:00:00'), (4, '15:00:00', '16:00:00'), (4, '16:00:00', '17:00:00'),
+(5, '09:00:00', '10:00:00'), (5, '10:00:00', '11:00:00'), (5, '14:00:00', '15:00:00'), (5, '15:00:00', '16:00:00'),
+(6, '09:00:00', '10:00:00'), (6, '10:00:00', '11:00:00'), (6, '11:00:00', '12:00:00'), (6, '14:00:00', '15:00:00'),
+(7, '09:00:00', '10:00:00'), (7, '10:00:00', '11:00:00'), (7, '15:00:00', '16:00:00'), (7, '16:00:00', '17:00:00'),
+(8, '10:00:00', '11:00:00'), (8, '11:00:00', '12:00:00'), (8, '14:00:00', '15:00:00'), (8, '15:00:00', '16:00:00'),
+(9, '09:00:00', '10:00:00'), (9, '11:00:00', '12:00:00'), (9, '13:00:00', '14:00:00'), (9, '14:00:00', '15:00:00'),
+(10, '10:00:00', '11:00:00'), (10, '11:00:00', '12:00:00'), (10, '14:00:00', '15:00:00'), (10, '16:00:00', '17:00:00'),
+(11, '09:00:00', '10:00:00'), (11, '12:00:00', '13:00:00'), (11, '14:00:00', '15:00:00'), (11, '15:00:00', '16:00:00'),
+(12, '10:00:00', '11:00:00'), (12, '11:00:00', '12:00:00'), (12, '13:00:00', '14:00:00'), (12, '14:00:00', '15:00:00'),
+(13, '13:00:00', '14:00:00'), (13, '14:00:00', '15:00:00'), (13, '15:00:00', '16:00:00'), (13, '16:00:00', '17:00:00'),
+(14, '09:00:00', '10:00:00'), (14, '10:00:00', '11:00:00'), (14, '14:00:00', '15:00:00'), (14, '16:00:00', '17:00:00'),
+(15, '10:00:00', '11:00:00'), (15, '11:00:00', '12:00:00'), (15, '13:00:00', '14:00:00'), (15, '14:00:00', '15:00:00'),
+(16, '09:00:00', '10:00:00'), (16, '11:00:00', '12:00:00'), (16, '14:00:00', '15:00:00'), (16, '16:00:00', '17:00:00'),
+(17, '09:00:00', '10:00:00'), (17, '10:00:00', '11:00:00'), (17, '11:00:00', '12:00:00'), (17, '12:00:00', '13:00:00'),
+(18, '09:00:00', '10:00:00'), (18, '10:00:00', '11:00:00'), (18, '11:00:00', '12:00:00'), (18, '15:00:00', '16:00:00'),
+(19, '13:00:00', '14:00:00'), (19, '14:00:00', '15:00:00'), (19, '15:00:00', '16:00:00'), (19, '16:00:00', '17:00:00'),
+(20, '10:00:00', '11:00:00'), (20, '13:00:00', '14:00:00'), (20, '14:00:00', '15:00:00'), (20, '15:00:00', '16:00:00'),
+(21, '09:00:00', '10:00:00'), (21, '10:00:00', '11:00:00'), (21, '14:00:00', '15:00:00'), (21, '15:00:00', '16:00:00'),
+(22, '10:00:00', '11:00:00'), (22, '11:00:00', '12:00:00'), (22, '14:00:00', '15:00:00'), (22, '16:00:00', '17:00:00'),
+(23, '11:00:00', '12:00:00'), (23, '13:00:00', '14:00:00'), (23, '15:00:00', '16:00:00'), (23, '16:00:00', '17:00:00'),
+(24, '12:00:00', '13:00:00'), (24, '13:00:00', '14:00:00'), (24, '14:00:00', '15:00:00'), (24, '15:00:00', '16:00:00'),
+(25, '09:00:00', '10:00:00'), (25, '10:00:00', '11:00:00'), (25, '14:00:00', '15:00:00'), (25, '15:00:00', '16:00:00');
 
 INSERT INTO appointment (appointment_time, status, doctor_id, patient_id) VALUES
 ('2025-05-01 09:00:00.000000', 0, 1, 1),
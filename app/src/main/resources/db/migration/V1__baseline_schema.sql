@@ -0,0 +1,49 @@
+-- Schema as previously generated by Hibernate (ddl-auto=update). Existing databases are
+-- baselined at this version, so it only runs on fresh installs.
+
+CREATE TABLE admin (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    email VARCHAR(255) NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    password VARCHAR(255),
+    username VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE doctor (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    name VARCHAR(100) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    password VARCHAR(255),
+    phone_number VARCHAR(255),
+    speciality VARCHAR(255) NOT NULL,
+    specialty VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE patient (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    name VARCHAR(100) NOT NULL,
+    address VARCHAR(255),
+    email VARCHAR(255) NOT NULL,
+    password VARCHAR(255),
+    phone_number VARCHAR(255),
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE appointment (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    appointment_time DATETIME(6) NOT NULL,
+    status INTEGER NOT NULL,
+    doctor_id BIGINT NOT NULL,
+    patient_id BIGINT NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_appointment_doctor FOREIGN KEY (doctor_id) REFERENCES doctor (id),
+    CONSTRAINT fk_appointment_patient FOREIGN KEY (patient_id) REFERENCES patient (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE doctor_available_times (
+    doctor_id BIGINT NOT NULL,
+    start_time TIME(6),
+    CONSTRAINT fk_available_times_doctor FOREIGN KEY (doctor_id) REFERENCES doctor (id)
+) ENGINE=InnoDB;
@@ -0,0 +1,13 @@
+-- Login and token checks look users up by email/username on every request
+ALTER TABLE admin ADD CONSTRAINT uk_admin_username UNIQUE (username);
+ALTER TABLE doctor ADD CONSTRAINT uk_doctor_email UNIQUE (email);
+ALTER TABLE patient ADD CONSTRAINT uk_patient_email UNIQUE (email);
+CREATE INDEX idx_patient_phone_number ON patient (phone_number);
+
+-- Keyset-paged doctor listing by name
+CREATE INDEX idx_doctor_name ON doctor (name, id);
+
+-- Patient history listings seek on (appointment_time, id), optionally per status.
+-- uk_appointment_doctor_time already serves the doctor-side range scans.
+CREATE INDEX idx_appointment_patient_time ON appointment (patient_id, appointment_time, id);
+CREATE INDEX idx_appointment_patient_status_time ON appointment (patient_id, status, appointment_time, id);
@@ -0,0 +1,2 @@
+-- Date-range exports across all doctors seek on appointment_time alone
+CREATE INDEX idx_appointment_time ON appointment (appointment_time, id);
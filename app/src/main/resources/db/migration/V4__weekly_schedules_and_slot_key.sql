@@ -0,0 +1,30 @@
+-- Weekday intervals and dated exceptions for doctor schedules. Existing rows keep a null
+-- day and end time, which still means a single slot at start_time on every day.
+ALTER TABLE doctor_available_times
+    ADD COLUMN day_of_week ENUM ('FRIDAY','MONDAY','SATURDAY','SUNDAY','THURSDAY','TUESDAY','WEDNESDAY');
+ALTER TABLE doctor_available_times ADD COLUMN end_time TIME(6);
+
+CREATE TABLE doctor_schedule_exceptions (
+    doctor_id BIGINT NOT NULL,
+    date DATE,
+    start_time TIME(6),
+    end_time TIME(6),
+    CONSTRAINT fk_schedule_exceptions_doctor FOREIGN KEY (doctor_id) REFERENCES doctor (id)
+) ENGINE=InnoDB;
+
+-- Before the key, concurrent bookings could store the same slot twice. Keep the earliest row
+-- per (doctor_id, appointment_time). DISTINCT makes MySQL materialize the derived table, so
+-- the DELETE may read the table it modifies.
+DELETE FROM appointment
+WHERE id IN (
+    SELECT id FROM (
+        SELECT DISTINCT later.id
+        FROM appointment later
+        JOIN appointment earlier
+            ON earlier.doctor_id = later.doctor_id
+            AND earlier.appointment_time = later.appointment_time
+            AND earlier.id < later.id
+    ) duplicates
+);
+
+ALTER TABLE appointment ADD CONSTRAINT uk_appointment_doctor_time UNIQUE (doctor_id, appointment_time);
@@ -7,8 +7,10 @@
 */
 
 import { openModal } from "../components/modals.js";
-import { getDoctors, filterDoctors, saveDoctor } from "../services/doctorServices.js";
+import { getDoctorPage, filterDoctors, saveDoctor } from "../services/doctorServices.js";
 import { createDoctorCard } from "../components/doctorCard.js";
+import { renderPaged } from "../components/pagedList.js";
+import { attachDoctorSuggestions } from "../components/doctorSuggestions.js";
 
 /* =====================================================
    EVENT BINDINGS
@@ -21,7 +23,7 @@ document.addEventListener("DOMContentLoaded", () => {
     addDoctorBtn.addEventListener("click", () => openModal("addDoctor"));
   }
 
-  // Load all doctors on page load
+  // Load the first page of doctors on page load
   loadDoctorCards();
 
   // Attach filter/search listeners
@@ -29,14 +31,17 @@ document.addEventListener("DOMContentLoaded", () => {
   const filterTime = document.getElementById("filterTime");
   const filterSpecialty = document.getElementById("filterSpecialty");
 
-  if (searchBar) searchBar.addEventListener("input", filterDoctorsOnChange);
+  // Keystrokes fetch suggestions; the full filter runs once the search is committed
+  attachDoctorSuggestions(searchBar);
+  if (searchBar) searchBar.addEventListener("change", filterDoctorsOnChange);
   if (filterTime) filterTime.addEventListener("change", filterDoctorsOnChange);
   if (filterSpecialty) filterSpecialty.addEventListener("change", filterDoctorsOnChange);
 });
 
 /* =====================================================
    FUNCTION: loadDoctorCards
-   Purpose: Fetch and display all doctors
+   Purpose: Display the first page of doctors; later pages
+            load as the list is scrolled
 ===================================================== */
 async function loadDoctorCards() {
   try {
@@ -45,13 +50,9 @@ async function loadDoctorCards() {
 
     contentDiv.innerHTML = "<p>Loading doctors...</p>";
 
-    const doctors = await getDoctors();
-    if (!doctors || doctors.length === 0) {
-      contentDiv.innerHTML = "<p>No doctors available.</p>";
-      return;
-    }
-
-    renderDoctorCards(doctors);
+    await renderPaged(contentDiv,
+      cursor => getDoctorPage(cursor).then(page => ({ items: page.doctors, nextCursor: page.nextCursor })),
+      createDoctorCard, "No doctors available.");
   } catch (error) {
     console.error("Error loading doctors:", error);
     alert("Failed to load doctors. Please try again later.");
@@ -69,35 +70,17 @@ async function filterDoctorsOnChange() {
     const specialty = document.getElementById("filterSpecialty")?.value || "";
 
     const result = await filterDoctors(name, time, specialty);
-    const doctors = result?.doctors || [];
 
-    if (doctors.length > 0) {
-      renderDoctorCards(doctors);
-    } else {
-      const contentDiv = document.getElementById("content");
-      contentDiv.innerHTML = "<p>No doctors found with the given filters.</p>";
-    }
+    // Through renderPaged so a doctor page still loading cannot land in the results
+    await renderPaged(document.getElementById("content"),
+      () => Promise.resolve({ items: result?.doctors || [] }),
+      createDoctorCard, "No doctors found with the given filters.");
   } catch (error) {
     console.error("Error filtering doctors:", error);
     alert("Error applying filters. Please try again later.");
   }
 }
 
-/* =====================================================
-   FUNCTION: renderDoctorCards
-   Purpose: Render a list of doctor cards in the content area
-===================================================== */
-function renderDoctorCards(doctors) {
-  const contentDiv = document.getElementById("content");
-  if (!contentDiv) return;
-
-  contentDiv.innerHTML = ""; // clear previous cards
-  doctors.forEach((doctor) => {
-    const card = createDoctorCard(doctor);
-    contentDiv.appendChild(card);
-  });
-}
-
 /* =====================================================
    FUNCTION: adminAddDoctor
    Purpose: Collect form data and add a new doctor
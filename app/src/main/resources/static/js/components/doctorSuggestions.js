@@ -0,0 +1,35 @@
+/*
+  doctorSuggestions.js
+  Attaches a typeahead datalist to a search input. Keystrokes only fetch
+  suggestions; the caller runs the full doctor filter on "change".
+*/
+
+import { suggestDoctors } from "../services/doctorServices.js";
+
+export function attachDoctorSuggestions(input) {
+  if (!input) return;
+
+  const list = document.createElement("datalist");
+  list.id = `${input.id}Suggestions`;
+  input.setAttribute("list", list.id);
+  input.insertAdjacentElement("afterend", list);
+
+  let latest = 0;
+  input.addEventListener("input", async () => {
+    const query = input.value.trim();
+    const request = ++latest;
+    const suggestions = query.length > 0 ? await suggestDoctors(query) : [];
+
+    // Ignore responses that arrive after a newer keystroke
+    if (request !== latest) return;
+    list.innerHTML = "";
+    suggestions.forEach(suggestion => {
+      const option = document.createElement("option");
+      option.value = suggestion.value;
+      option.label = suggestion.type === "specialty"
+        ? `Specialty (${suggestion.doctors})`
+        : suggestion.specialty || "";
+      list.appendChild(option);
+    });
+  });
+}
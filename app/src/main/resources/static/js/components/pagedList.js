@@ -0,0 +1,83 @@
+/*
+  pagedList.js
+  Renders a cursor-paged listing into a container one page at a time. The
+  first page is shown right away; the next is fetched when the "Load more"
+  button scrolls into view or is clicked, until nextCursor runs out. The
+  container can be a table body, in which case the button and the empty
+  message are table rows.
+*/
+
+// fetchPage(cursor) resolves to { items, nextCursor }; renderItem(item) returns an element
+export function renderPaged(container, fetchPage, renderItem, emptyMessage) {
+  if (!container) return;
+
+  // A newer listing in the same container discards pages still in flight for this one
+  const listing = String(Number(container.dataset.listing || 0) + 1);
+  container.dataset.listing = listing;
+  container.innerHTML = "";
+
+  const inTable = container.tagName === "TBODY";
+  const columns = container.closest("table")?.querySelectorAll("thead th").length || 1;
+
+  const more = document.createElement("button");
+  more.type = "button";
+  more.className = "load-more";
+  more.textContent = "Load more";
+  const moreSlot = inTable ? tableRow(more, columns) : more;
+
+  let cursor = null;
+  let loading = false;
+  let shown = 0;
+
+  const observer = "IntersectionObserver" in window
+    ? new IntersectionObserver(entries => {
+        if (entries.some(entry => entry.isIntersecting)) loadNext();
+      })
+    : null;
+
+  async function loadNext() {
+    if (loading) return;
+    loading = true;
+    more.disabled = true;
+    try {
+      // Keep going while nothing is on screen yet, in case the caller filtered a page down to nothing
+      do {
+        const page = await fetchPage(cursor);
+        if (container.dataset.listing !== listing) return;
+
+        const items = page?.items || [];
+        items.forEach(item => container.insertBefore(renderItem(item), moreSlot.isConnected ? moreSlot : null));
+        shown += items.length;
+        cursor = page?.nextCursor || null;
+      } while (shown === 0 && cursor);
+
+      if (shown === 0) {
+        const message = document.createElement("p");
+        message.textContent = emptyMessage;
+        container.appendChild(inTable ? tableRow(message, columns) : message);
+      } else if (cursor && !moreSlot.isConnected) {
+        container.appendChild(moreSlot);
+        observer?.observe(more);
+      } else if (!cursor) {
+        observer?.disconnect();
+        moreSlot.remove();
+      }
+    } finally {
+      loading = false;
+      more.disabled = false;
+    }
+  }
+
+  more.addEventListener("click", loadNext);
+  return loadNext();
+}
+
+function tableRow(content, columns) {
+  const tr = document.createElement("tr");
+  const td = document.createElement("td");
+  td.colSpan = columns;
+  td.style.textAlign = "center";
+  td.appendChild(content);
+  tr.appendChild(td);
+  return tr;
+}
@@ -1,6 +1,8 @@
 // loggedPatient.js 
-import { getDoctors } from './services/doctorServices.js';
+import { getDoctorPage } from './services/doctorServices.js';
+import { renderPaged } from './components/pagedList.js';
 import { createDoctorCard } from './components/doctorCard.js';
+import { attachDoctorSuggestions } from './components/doctorSuggestions.js';
 import { filterDoctors } from './services/doctorServices.js';
 import { bookAppointment } from './services/appointmentRecordService.js';
 
@@ -9,20 +11,11 @@ document.addEventListener("DOMContentLoaded", () => {
   loadDoctorCards();
 });
 
+// One page of doctors now, the next as the list is scrolled
 function loadDoctorCards() {
-  getDoctors()
-    .then(doctors => {
-      const contentDiv = document.getElementById("content");
-      contentDiv.innerHTML = "";
-
-      doctors.forEach(doctor => {
-        const card = createDoctorCard(doctor);
-        contentDiv.appendChild(card);
-      });
-    })
-    .catch(error => {
-      console.error("Failed to load doctors:", error);
-    });
+  renderPaged(document.getElementById("content"),
+    cursor => getDoctorPage(cursor).then(page => ({ items: page.doctors, nextCursor: page.nextCursor })),
+    createDoctorCard, "No doctors available.");
 }
 
 export function showBookingOverlay(e, doctor, patient) {
@@ -87,7 +80,9 @@ export function showBookingOverlay(e, doctor, patient) {
 
 
 // Filter Input
-document.getElementById("searchBar").addEventListener("input", filterDoctorsOnChange);
+// Keystrokes fetch suggestions; the full filter runs once the search is committed
+attachDoctorSuggestions(document.getElementById("searchBar"));
+document.getElementById("searchBar").addEventListener("change", filterDoctorsOnChange);
 document.getElementById("filterTime").addEventListener("change", filterDoctorsOnChange);
 document.getElementById("filterSpecialty").addEventListener("change", filterDoctorsOnChange);
 
@@ -105,20 +100,10 @@ function filterDoctorsOnChange() {
 
   filterDoctors(name, time, specialty)
     .then(response => {
-      const doctors = response.doctors;
-      const contentDiv = document.getElementById("content");
-      contentDiv.innerHTML = "";
-
-      if (doctors.length > 0) {
-        console.log(doctors);
-        doctors.forEach(doctor => {
-          const card = createDoctorCard(doctor);
-          contentDiv.appendChild(card);
-        });
-      } else {
-        contentDiv.innerHTML = "<p>No doctors found with the given filters.</p>";
-        console.log("Nothing");
-      }
+      // Through renderPaged so a doctor page still loading cannot land in the results
+      renderPaged(document.getElementById("content"),
+        () => Promise.resolve({ items: response.doctors }),
+        createDoctorCard, "No doctors found with the given filters.");
     })
     .catch(error => {
       console.error("Failed to filter doctors:", error);
@@ -1,11 +1,10 @@
 // patientAppointment.js
 import { getPatientAppointments, getPatientData, filterAppointments } from "./services/patientServices.js";
+import { renderPaged } from "./components/pagedList.js";
 
 const tableBody = document.getElementById("patientTableBody");
 const token = localStorage.getItem("token");
 
-let allAppointments = [];
-let filteredAppointments = [];
 let patientId = null;
 
 document.addEventListener("DOMContentLoaded", initializePage);
@@ -19,32 +18,36 @@ async function initializePage() {
 
     patientId = Number(patient.id);
 
-    const appointmentData = await getPatientAppointments(patientId, token, "patient") || [];
-    allAppointments = appointmentData.filter(app => app.patientId === patientId);
-
-    renderAppointments(allAppointments);
+    // First page now, the rest as the table is scrolled
+    await renderAppointments(async cursor => {
+      const page = await getPatientAppointments(patientId, token, "patient", cursor);
+      if (!page) throw new Error("Failed to fetch appointments");
+      return page;
+    });
   } catch (error) {
     console.error("Error loading appointments:", error);
     alert("❌ Failed to load your appointments.");
   }
 }
 
-function renderAppointments(appointments) {
-  tableBody.innerHTML = "";
-
+// fetchPage(cursor) resolves to one page of { appointments, nextCursor }
+function renderAppointments(fetchPage) {
   const actionTh = document.querySelector("#patientTable thead tr th:last-child");
   if (actionTh) {
     actionTh.style.display = "table-cell"; // Always show "Actions" column
   }
 
-  if (!appointments.length) {
-    tableBody.innerHTML = `<tr><td colspan="5" style="text-align:center;">No Appointments Found</td></tr>`;
-    return;
-  }
+  return renderPaged(tableBody,
+    cursor => fetchPage(cursor).then(page => ({
+      items: page.appointments.filter(app => app.patientId === patientId),
+      nextCursor: page.nextCursor,
+    })),
+    createAppointmentRow, "No Appointments Found");
+}
 
-  appointments.forEach(appointment => {
-    const tr = document.createElement("tr");
-    tr.innerHTML = `
+function createAppointmentRow(appointment) {
+  const tr = document.createElement("tr");
+  tr.innerHTML = `
       <td>${appointment.patientName || "You"}</td>
       <td>${appointment.doctorName}</td>
       <td>${appointment.appointmentDate}</td>
@@ -52,13 +55,12 @@ function renderAppointments(appointments) {
       <td>${appointment.status == 0 ? `<img src="../assets/images/edit/edit.png" alt="Edit" class="prescription-btn" data-id="${appointment.patientId}">` : "-"}</td>
     `;
 
-    if (appointment.status == 0) {
-      const actionBtn = tr.querySelector(".prescription-btn");
-      actionBtn?.addEventListener("click", () => redirectToUpdatePage(appointment));
-    }
+  if (appointment.status == 0) {
+    const actionBtn = tr.querySelector(".prescription-btn");
+    actionBtn?.addEventListener("click", () => redirectToUpdatePage(appointment));
+  }
 
-    tableBody.appendChild(tr);
-  });
+  return tr;
 }
 
 function redirectToUpdatePage(appointment) {
@@ -92,11 +94,7 @@ async function handleFilterChange() {
   const condition = filterValue === "allAppointments" ? null : filterValue || null;
 
   try {
-    const response = await filterAppointments(condition, name, token);
-    const appointments = response?.appointments || [];
-    filteredAppointments = appointments.filter(app => app.patientId === patientId);
-
-    renderAppointments(filteredAppointments);
+    await renderAppointments(cursor => filterAppointments(condition, name, token, cursor));
   } catch (error) {
     console.error("Failed to filter appointments:", error);
     alert("❌ An error occurred while filtering appointments.");
@@ -1,7 +1,9 @@
 // patientDashboard.js
-import { getDoctors } from './services/doctorServices.js';
+import { getDoctorPage } from './services/doctorServices.js';
+import { renderPaged } from './components/pagedList.js';
 import { openModal } from './components/modals.js';
 import { createDoctorCard } from './components/doctorCard.js';
+import { attachDoctorSuggestions } from './components/doctorSuggestions.js';
 import { filterDoctors } from './services/doctorServices.js';//call the same function to avoid duplication coz the functionality was same
 import { patientSignup, patientLogin } from './services/patientServices.js';
 
@@ -27,23 +29,16 @@ document.addEventListener("DOMContentLoaded", () => {
   }
 })
 
+// One page of doctors now, the next as the list is scrolled
 function loadDoctorCards() {
-  getDoctors()
-    .then(doctors => {
-      const contentDiv = document.getElementById("content");
-      contentDiv.innerHTML = "";
-
-      doctors.forEach(doctor => {
-        const card = createDoctorCard(doctor);
-        contentDiv.appendChild(card);
-      });
-    })
-    .catch(error => {
-      console.error("Failed to load doctors:", error);
-    });
+  renderPaged(document.getElementById("content"),
+    cursor => getDoctorPage(cursor).then(page => ({ items: page.doctors, nextCursor: page.nextCursor })),
+    createDoctorCard, "No doctors available.");
 }
 // Filter Input
-document.getElementById("searchBar").addEventListener("input", filterDoctorsOnChange);
+// Keystrokes fetch suggestions; the full filter runs once the search is committed
+attachDoctorSuggestions(document.getElementById("searchBar"));
+document.getElementById("searchBar").addEventListener("change", filterDoctorsOnChange);
 document.getElementById("filterTime").addEventListener("change", filterDoctorsOnChange);
 document.getElementById("filterSpecialty").addEventListener("change", filterDoctorsOnChange);
 
@@ -61,20 +56,10 @@ function filterDoctorsOnChange() {
 
   filterDoctors(name, time, specialty)
     .then(response => {
-      const doctors = response.doctors;
-      const contentDiv = document.getElementById("content");
-      contentDiv.innerHTML = "";
-
-      if (doctors.length > 0) {
-        console.log(doctors);
-        doctors.forEach(doctor => {
-          const card = createDoctorCard(doctor);
-          contentDiv.appendChild(card);
-        });
-      } else {
-        contentDiv.innerHTML = "<p>No doctors found with the given filters.</p>";
-        console.log("Nothing");
-      }
+      // Through renderPaged so a doctor page still loading cannot land in the results
+      renderPaged(document.getElementById("content"),
+        () => Promise.resolve({ items: response.doctors }),
+        createDoctorCard, "No doctors found with the given filters.");
     })
     .catch(error => {
       console.error("Failed to filter doctors:", error);
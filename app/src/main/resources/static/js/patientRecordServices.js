@@ -1,6 +1,7 @@
 // patientRecordServices.js
 import { getPatientAppointments } from "./services/patientServices.js";
 import { createPatientRecordRow } from './components/patientRecordRow.js';
+import { renderPaged } from './components/pagedList.js';
 
 const tableBody = document.getElementById("patientTableBody");
 const token = localStorage.getItem("token");
@@ -15,34 +16,20 @@ async function initializePage() {
   try {
     if (!token) throw new Error("No token found");
 
-    const appointmentData = await getPatientAppointments(patientId, token, "doctor") || [];
-
-    // Filter by both patientId and doctorId
-    const filteredAppointments = appointmentData.filter(app =>
-      app.doctorId == doctorId);
-    console.log(filteredAppointments)
-    renderAppointments(filteredAppointments);
+    const actionTh = document.querySelector("#patientTable thead tr th:last-child");
+    if (actionTh) {
+      actionTh.style.display = "table-cell"; // Always show "Actions" column
+    }
+
+    // First page now, the rest as the table is scrolled
+    await renderPaged(tableBody, async cursor => {
+      const page = await getPatientAppointments(patientId, token, "doctor", cursor);
+      if (!page) throw new Error("Failed to fetch appointments");
+      // Filter by both patientId and doctorId
+      return { items: page.appointments.filter(app => app.doctorId == doctorId), nextCursor: page.nextCursor };
+    }, createPatientRecordRow, "No Appointments Found");
   } catch (error) {
     console.error("Error loading appointments:", error);
     alert("❌ Failed to load your appointments.");
   }
 }
-
-function renderAppointments(appointments) {
-  tableBody.innerHTML = "";
-
-  const actionTh = document.querySelector("#patientTable thead tr th:last-child");
-  if (actionTh) {
-    actionTh.style.display = "table-cell"; // Always show "Actions" column
-  }
-
-  if (!appointments.length) {
-    tableBody.innerHTML = `<tr><td colspan="5" style="text-align:center;">No Appointments Found</td></tr>`;
-    return;
-  }
-
-  appointments.forEach(appointment => {
-    const row = createPatientRecordRow(appointment);
-    tableBody.appendChild(row);
-  });
-}
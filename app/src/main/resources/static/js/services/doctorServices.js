@@ -8,22 +8,26 @@ import { API_BASE_URL } from "../config/config.js";
 const DOCTOR_API = API_BASE_URL + "/doctor";
 
 /* ==========================================================
-   Function: getDoctors
-   Purpose: Fetch the list of all doctors from the API
+   Function: getDoctorPage
+   Purpose: Fetch one page of doctors; pass the previous
+            page's nextCursor to get the next one
    ========================================================== */
-export async function getDoctors() {
+export async function getDoctorPage(cursor = null, size = 20) {
   try {
-    const response = await fetch(DOCTOR_API);
+    const params = new URLSearchParams({ size });
+    if (cursor) params.set("cursor", cursor);
+
+    const response = await fetch(`${DOCTOR_API}?${params}`);
     if (!response.ok) {
       console.error("Failed to fetch doctors:", response.statusText);
-      return [];
+      return { doctors: [], nextCursor: null };
     }
 
     const data = await response.json();
-    return data?.doctors || [];
+    return { doctors: data?.doctors || [], nextCursor: data?.nextCursor || null };
   } catch (error) {
     console.error("Error fetching doctors:", error);
-    return [];
+    return { doctors: [], nextCursor: null };
   }
 }
 
@@ -105,3 +109,24 @@ export async function filterDoctors(name = "", time = "", specialty = "") {
     return { doctors: [] };
   }
 }
+
+/* ==========================================================
+   Function: suggestDoctors
+   Purpose: Typeahead suggestions (specialties and doctor names)
+            served from memory, without a database query
+   ========================================================== */
+export async function suggestDoctors(query, limit = 8) {
+  try {
+    const params = new URLSearchParams({ q: query, limit });
+    const response = await fetch(`${DOCTOR_API}/suggest?${params}`);
+    if (!response.ok) {
+      return [];
+    }
+
+    const data = await response.json();
+    return data?.suggestions || [];
+  } catch (error) {
+    console.error("Error fetching suggestions:", error);
+    return [];
+  }
+}
@@ -55,15 +55,10 @@ export async function getPatientData(token) {
 }
 
 // the Backend API for fetching the patient record(visible in Doctor Dashboard) and Appointments (visible in Patient Dashboard) are same based on user(patient/doctor).
-export async function getPatientAppointments(id, token, user) {
+// Returns one page, { appointments, nextCursor }; pass nextCursor back for the next one.
+export async function getPatientAppointments(id, token, user, cursor = null) {
   try {
-    const response = await fetch(`${PATIENT_API}/${id}/${user}/${token}`);
-    const data = await response.json();
-    console.log(data.appointments)
-    if (response.ok) {
-      return data.appointments;
-    }
-    return null;
+    return await fetchPage(`${PATIENT_API}/${id}/${user}/${token}`, cursor);
   }
   catch (error) {
     console.error("Error fetching patient details:", error);
@@ -71,27 +66,32 @@ export async function getPatientAppointments(id, token, user) {
   }
 }
 
-export async function filterAppointments(condition, name, token) {
-  try {
-    const response = await fetch(`${PATIENT_API}/filter/${condition}/${name}/${token}`, {
-      method: "GET",
-      headers: {
-        "Content-Type": "application/json",
-      },
-    });
+// Appointment listings are paged by nextCursor. Resolves to null if the page fails.
+async function fetchPage(url, cursor) {
+  const params = new URLSearchParams({ size: 20 });
+  if (cursor) params.set("cursor", cursor);
+  const response = await fetch(`${url}?${params}`);
+  if (!response.ok) {
+    return null;
+  }
+  const data = await response.json();
+  return { appointments: data.appointments || [], nextCursor: data.nextCursor || null };
+}
 
-    if (response.ok) {
-      const data = await response.json();
-      return data;
+export async function filterAppointments(condition, name, token, cursor = null) {
+  try {
+    const page = await fetchPage(`${PATIENT_API}/filter/${condition}/${name}/${token}`, cursor);
+    if (page) {
+      return page;
 
     } else {
-      console.error("Failed to fetch doctors:", response.statusText);
-      return { appointments: [] };
+      console.error("Failed to fetch appointments");
+      return { appointments: [], nextCursor: null };
 
     }
   } catch (error) {
     console.error("Error:", error);
     alert("Something went wrong!");
-    return { appointments: [] };
+    return { appointments: [], nextCursor: null };
   }
 }
@@ -1,6 +1,6 @@
 // updateAppointment.js
 import { updateAppointment } from "../js/services/appointmentRecordService.js";
-import { getDoctors } from "../js/services/doctorServices.js";
+import { filterDoctors } from "../js/services/doctorServices.js";
 document.addEventListener("DOMContentLoaded", initializePage);
 
 async function initializePage() {
@@ -22,9 +22,10 @@ async function initializePage() {
     return;
   }
 
-  // get doctor to display only the available time of doctor
-  getDoctors()
-    .then(doctors => {
+  // get doctor to display only the available time of doctor; a name lookup
+  // instead of walking every page of the doctor listing for one id
+  filterDoctors(doctorName, "", "")
+    .then(({ doctors = [] }) => {
       // Find the doctor by the ID from the URL
       const doctor = doctors.find(d => d.id == doctorId);
       if (!doctor) {
@@ -0,0 +1,64 @@
+package com.project.back_end;
+
+import com.project.back_end.models.Appointment;
+import com.project.back_end.models.AvailableTime;
+import com.project.back_end.models.Doctor;
+import com.project.back_end.models.Patient;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Unsaved entities for the integration tests, which run with the "test" profile
+ * (src/test/resources/application-test.properties). Everything a test does not assert
+ * on gets a valid default.
+ */
+public final class TestFixtures {
+
+    public static final String PASSWORD = "secret123";
+    public static final String PHONE = "5550000000";
+    public static final String ADDRESS = "1 Main St";
+
+    private TestFixtures() {
+    }
+
+    // A single 9:00 slot unless times are given
+    public static Doctor doctor(String name, String email, String specialty, AvailableTime... times) {
+        Doctor doctor = new Doctor();
+        doctor.setName(name);
+        doctor.setEmail(email);
+        doctor.setSpeciality(specialty);
+        doctor.setSpecialty(specialty);
+        doctor.setPhoneNumber(PHONE);
+        doctor.setPassword(PASSWORD);
+        doctor.setAvailableTimes(times.length == 0
+                ? new ArrayList<>(List.of(new AvailableTime(LocalTime.of(9, 0))))
+                : new ArrayList<>(List.of(times)));
+        return doctor;
+    }
+
+    public static Patient patient(String name, String email) {
+        return patient(name, email, PHONE, ADDRESS);
+    }
+
+    public static Patient patient(String name, String email, String phone, String address) {
+        Patient patient = new Patient();
+        patient.setName(name);
+        patient.setEmail(email);
+        patient.setPhoneNumber(phone);
+        patient.setPassword(PASSWORD);
+        patient.setAddress(address);
+        return patient;
+    }
+
+    public static Appointment appointment(Doctor doctor, Patient patient, LocalDateTime time) {
+        Appointment appointment = new Appointment();
+        appointment.setDoctor(doctor);
+        appointment.setPatient(patient);
+        appointment.setAppointmentTime(time);
+        appointment.setStatus(0);
+        return appointment;
+    }
+}
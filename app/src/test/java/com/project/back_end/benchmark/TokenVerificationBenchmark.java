@@ -0,0 +1,78 @@
+package com.project.back_end.benchmark;
+
+import com.project.back_end.services.TokenVerifier;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost per token verification: the old per-call key/parser construction versus a bare
+ * parser built once, and versus the verified-token cache hit path.
+ *
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ *           -Dexec.mainClass=com.project.back_end.benchmark.TokenVerificationBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenVerificationBenchmark {
+
+    private static final String SECRET = "$!@#$^%$$$%####$DDCPN0234FCFDPD8670M";
+
+    private String token;
+    private JwtParser parser;
+    private TokenVerifier cached;
+
+    @Setup
+    public void setUp() {
+        token = Jwts.builder()
+                .subject("doctor@example.com")
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + TimeUnit.DAYS.toMillis(7)))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                .compact();
+        parser = Jwts.parser().verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes())).build();
+        cached = new TokenVerifier(SECRET, 10_000);
+        cached.verify(token);
+    }
+
+    @Benchmark
+    public String perCallParser() {
+        // Previous TokenService.extractEmail behaviour
+        return Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload()
+                .getSubject();
+    }
+
+    @Benchmark
+    public String sharedParser() {
+        // Signature check only: no digest, no cache lookup
+        return parser.parseSignedClaims(token).getPayload().getSubject();
+    }
+
+    @Benchmark
+    public String cachedVerification() {
+        return cached.verify(token).getSubject();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(TokenVerificationBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,159 @@
+package com.project.back_end.controllers;
+
+import com.project.back_end.BackEndApplication;
+import com.project.back_end.models.Doctor;
+import com.project.back_end.models.Prescription;
+import com.project.back_end.repo.DoctorRepository;
+import com.project.back_end.repo.PrescriptionRepository;
+import com.project.back_end.repo.ReactivePrescriptionRepository;
+import com.project.back_end.services.TokenService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import reactor.core.publisher.Flux;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.project.back_end.TestFixtures.doctor;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Drives the prescription lookup over HTTP with Mongo replaced by stand-ins that take
+ * LATENCY per query, once per data path, on a Tomcat limited to SERVLET_THREADS threads.
+ * The blocking path can only have as many lookups in flight as it has threads, and a
+ * Mongo-free endpoint queues behind them; the reactive path holds no thread while it waits.
+ * Tagged "load": left out of the default build, run with mvn test -Pload.
+ */
+@Tag("load")
+class PrescriptionLatencyLoadTest {
+
+    private static final int SERVLET_THREADS = 8;
+    private static final int REQUESTS = 64;
+    private static final Duration LATENCY = Duration.ofMillis(300);
+
+    private record Run(long elapsedMillis, int peakInFlight, long probeMillis) {
+    }
+
+    // Lookups currently inside the stand-in, and the most seen at once
+    static final AtomicInteger inFlight = new AtomicInteger();
+    static final AtomicInteger peakInFlight = new AtomicInteger();
+
+    // Not a @Configuration: the application's component scan would pick it up in every test context
+    static class SlowMongo {
+
+        @Bean
+        @Primary
+        PrescriptionRepository slowPrescriptionRepository() {
+            PrescriptionRepository repository = mock(PrescriptionRepository.class);
+            when(repository.findByAppointmentId(anyLong())).thenAnswer(invocation -> {
+                enter();
+                try {
+                    Thread.sleep(LATENCY.toMillis());
+                    return List.of();
+                } finally {
+                    inFlight.decrementAndGet();
+                }
+            });
+            return repository;
+        }
+
+        @Bean
+        @Primary
+        ReactivePrescriptionRepository slowReactivePrescriptionRepository() {
+            ReactivePrescriptionRepository repository = mock(ReactivePrescriptionRepository.class);
+            when(repository.findByAppointmentId(anyLong())).thenAnswer(invocation -> Flux.<Prescription>empty()
+                    .delaySubscription(LATENCY)
+                    .doOnSubscribe(subscription -> enter())
+                    .doFinally(signal -> inFlight.decrementAndGet()));
+            return repository;
+        }
+
+        private static void enter() {
+            peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        }
+    }
+
+    @Test
+    void reactivePathKeepsServletThreadsFreeUnderMongoLatency() throws Exception {
+        Run blocking = run(false);
+        Run reactive = run(true);
+        System.out.printf("%d lookups, %d ms Mongo latency, %d servlet threads%n",
+                REQUESTS, LATENCY.toMillis(), SERVLET_THREADS);
+        System.out.printf("  blocking: %5d ms total, %2d in flight at peak, Mongo-free request took %d ms%n",
+                blocking.elapsedMillis(), blocking.peakInFlight(), blocking.probeMillis());
+        System.out.printf("  reactive: %5d ms total, %2d in flight at peak, Mongo-free request took %d ms%n",
+                reactive.elapsedMillis(), reactive.peakInFlight(), reactive.probeMillis());
+
+        // Each blocking lookup pins a servlet thread, so they run SERVLET_THREADS at a time
+        assertTrue(blocking.peakInFlight() <= SERVLET_THREADS);
+        assertTrue(blocking.elapsedMillis() >= REQUESTS / SERVLET_THREADS * LATENCY.toMillis());
+        // Reactive lookups wait together, well past the thread limit
+        assertTrue(reactive.peakInFlight() > SERVLET_THREADS);
+        assertTrue(reactive.elapsedMillis() < blocking.elapsedMillis() / 2);
+    }
+
+    private Run run(boolean reactive) throws Exception {
+        inFlight.set(0);
+        peakInFlight.set(0);
+        // Command-line arguments, so they win over application.properties
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(BackEndApplication.class, SlowMongo.class)
+                .run(
+                        "--spring.profiles.active=test",
+                        "--server.port=0",
+                        "--server.tomcat.threads.max=" + SERVLET_THREADS,
+                        "--server.tomcat.threads.min-spare=" + SERVLET_THREADS,
+                        "--prescription.reactive.enabled=" + reactive,
+                        "--spring.main.allow-bean-definition-overriding=true",
+                        "--spring.devtools.restart.enabled=false")) {
+
+            String base = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            String token = doctorToken(context);
+            HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+            // Warm up the request path so the measured run is not paying for class loading
+            send(client, base + "/prescription/1/" + token).join();
+
+            long start = System.nanoTime();
+            List<CompletableFuture<HttpResponse<String>>> lookups = new ArrayList<>();
+            for (int i = 0; i < REQUESTS; i++) {
+                lookups.add(send(client, base + "/prescription/" + (i + 1) + "/" + token));
+            }
+            // A request that never touches Mongo, sent while the lookups are waiting on it
+            Thread.sleep(LATENCY.toMillis() / 3);
+            long probeStart = System.nanoTime();
+            HttpResponse<String> probe = send(client, base + "/doctor?size=1").join();
+            long probeMillis = (System.nanoTime() - probeStart) / 1_000_000;
+
+            for (CompletableFuture<HttpResponse<String>> lookup : lookups) {
+                assertEquals(200, lookup.join().statusCode());
+            }
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+            assertEquals(200, probe.statusCode());
+            return new Run(elapsedMillis, peakInFlight.get(), probeMillis);
+        }
+    }
+
+    private static String doctorToken(ConfigurableApplicationContext context) {
+        Doctor doctor = context.getBean(DoctorRepository.class)
+                .save(doctor("Dr. Load", "load.doctor@example.com", "Load"));
+        return context.getBean(TokenService.class).generateToken(doctor.getEmail());
+    }
+
+    private static CompletableFuture<HttpResponse<String>> send(HttpClient client, String url) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(30)).GET().build();
+        return client.sendAsync(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
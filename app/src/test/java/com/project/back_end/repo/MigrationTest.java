@@ -0,0 +1,54 @@
+package com.project.back_end.repo;
+
+import org.flywaydb.core.Flyway;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Upgrades a database the way an existing install is upgraded: the tables Hibernate created
+ * (V1), baselined at version 1 as application.properties configures, then every later migration.
+ */
+class MigrationTest {
+
+    @Test
+    void legacyDatabaseIsBaselinedAndUpgraded() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:legacy;MODE=MySQL;DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/V1__baseline_schema.sql"))
+                .execute(dataSource);
+        jdbc.update("INSERT INTO doctor (id, name, email, speciality, specialty) "
+                + "VALUES (1, 'Dr. Old', 'old@example.com', 'GP', 'GP')");
+        jdbc.update("INSERT INTO patient (id, name, email) VALUES (1, 'Old Patient', 'old.patient@example.com')");
+        jdbc.update("INSERT INTO doctor_available_times (doctor_id, start_time) VALUES (1, '09:00:00')");
+        // Two rows for the 9:00 slot, booked before the unique key existed
+        for (int id = 1; id <= 3; id++) {
+            jdbc.update("INSERT INTO appointment (id, appointment_time, status, doctor_id, patient_id) "
+                    + "VALUES (?, ?, 0, 1, 1)", id, id < 3 ? "2030-01-07 09:00:00" : "2030-01-07 10:00:00");
+        }
+
+        Flyway.configure().dataSource(dataSource).baselineOnMigrate(true).baselineVersion("1").load().migrate();
+
+        assertEquals(List.of(1L, 3L), jdbc.queryForList("SELECT id FROM appointment ORDER BY id", Long.class));
+        assertThrows(DuplicateKeyException.class, () -> jdbc.update(
+                "INSERT INTO appointment (appointment_time, status, doctor_id, patient_id) "
+                        + "VALUES ('2030-01-07 10:00:00', 0, 1, 1)"));
+
+        Map<String, Object> slot = jdbc.queryForMap(
+                "SELECT day_of_week, end_time FROM doctor_available_times WHERE doctor_id = 1");
+        assertNull(slot.get("DAY_OF_WEEK"));
+        assertNull(slot.get("END_TIME"));
+        assertEquals(0, jdbc.queryForObject("SELECT COUNT(*) FROM doctor_schedule_exceptions", Integer.class));
+    }
+}
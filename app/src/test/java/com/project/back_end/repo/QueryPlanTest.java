@@ -0,0 +1,200 @@
+package com.project.back_end.repo;
+
+import com.project.back_end.models.Appointment;
+import com.project.back_end.models.Doctor;
+import com.project.back_end.models.Patient;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Stream;
+
+import static com.project.back_end.TestFixtures.appointment;
+import static com.project.back_end.TestFixtures.doctor;
+import static com.project.back_end.TestFixtures.patient;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs every repository query against the Flyway schema and fails if H2's EXPLAIN shows a
+ * table scan. Queries that scan on purpose are listed in SCANS_BY_DESIGN with the reason;
+ * a new repository method must be added to one side or the other.
+ */
+@SpringBootTest(properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.project.back_end.repo.QueryPlanTest$Recorder")
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryPlanTest {
+
+    private static final Map<String, String> SCANS_BY_DESIGN = Map.of(
+            "findBySpecialtyIgnoreCase", "LOWER() on both sides; the doctor table is small",
+            "findAllIdsAndNames", "loads every doctor once to build the name index",
+            "findAllIdsNamesAndSpecialties", "loads every doctor once to build the suggestion index",
+            "insertScheduledBatch", "INSERT, no plan to check");
+
+    private static final LocalDateTime FROM = LocalDate.now().plusDays(1).atStartOfDay();
+    private static final LocalDateTime TO = FROM.plusDays(7);
+
+    private final Set<String> checked = new HashSet<>();
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private AdminRepository adminRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Doctor doctor;
+    private Patient patient;
+
+    public static class Recorder implements StatementInspector {
+        static final List<String> statements = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+    }
+
+    @BeforeAll
+    void seed() {
+        doctor = doctorRepository.save(doctor("Dr. Plan", "plan.doctor@example.com", "Planning"));
+        patient = patientRepository.save(
+                patient("Plan Patient", "plan.patient@example.com", "5550009998", "4 Main St"));
+        appointmentRepository.save(appointment(doctor, patient, FROM.plusHours(9)));
+    }
+
+    @Test
+    void appointmentQueriesUseIndexes() {
+        Long doctorId = doctor.getId();
+        Long patientId = patient.getId();
+        PageRequest page = PageRequest.of(0, 21);
+
+        assertIndexed("findByDoctorIdAndAppointmentTimeBetween",
+                () -> appointmentRepository.findByDoctorIdAndAppointmentTimeBetween(doctorId, FROM, TO));
+        assertIndexed("findAppointmentTimesByDoctorIdAndAppointmentTimeBetween",
+                () -> appointmentRepository.findAppointmentTimesByDoctorIdAndAppointmentTimeBetween(doctorId, FROM, TO));
+        assertIndexed("findDoctorIdAndAppointmentTimeByDoctorIdInAndAppointmentTimeBetween",
+                () -> appointmentRepository.findDoctorIdAndAppointmentTimeByDoctorIdInAndAppointmentTimeBetween(
+                        List.of(doctorId, doctorId + 1), FROM, TO));
+        assertIndexed("findByDoctorIdAndPatient_NameContainingIgnoreCaseAndAppointmentTimeBetween",
+                () -> appointmentRepository.findByDoctorIdAndPatient_NameContainingIgnoreCaseAndAppointmentTimeBetween(
+                        doctorId, "plan", FROM, TO));
+        assertIndexed("findDtosByPatientId",
+                () -> appointmentRepository.findDtosByPatientId(patientId, FROM, 0L, page));
+        assertIndexed("findDtosByPatientIdAndStatus",
+                () -> appointmentRepository.findDtosByPatientIdAndStatus(patientId, 0, FROM, 0L, page));
+        assertIndexed("filterDtosByDoctorNameAndPatientId",
+                () -> appointmentRepository.filterDtosByDoctorNameAndPatientId("plan", patientId, FROM, 0L, page));
+        assertIndexed("filterDtosByDoctorNameAndPatientIdAndStatus",
+                () -> appointmentRepository.filterDtosByDoctorNameAndPatientIdAndStatus("plan", patientId, 0, FROM, 0L, page));
+        assertIndexed("deleteAllByDoctorId", () -> appointmentRepository.deleteAllByDoctorId(-1L));
+        assertIndexed("streamByPatientId", () -> transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<Appointment> rows = appointmentRepository.streamByPatientId(patientId)) {
+                rows.count();
+            }
+        }));
+        assertIndexed("streamByAppointmentTimeRange", () -> transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<Appointment> rows = appointmentRepository.streamByAppointmentTimeRange(FROM, TO)) {
+                rows.count();
+            }
+        }));
+    }
+
+    @Test
+    void doctorQueriesUseIndexes() {
+        assertIndexed("findByEmail", () -> doctorRepository.findByEmail("plan.doctor@example.com"));
+        assertIndexed("findPageAfterId", () -> doctorRepository.findPageAfterId(0L, PageRequest.of(0, 21)));
+        assertIndexed("findPageAfterName", () -> doctorRepository.findPageAfterName("", 0L, PageRequest.of(0, 21)));
+        assertIndexed("findWithAvailableTimesByIdIn",
+                () -> doctorRepository.findWithAvailableTimesByIdIn(List.of(doctor.getId())));
+        // Batch fetch of the lazy schedule collection
+        assertIndexed("availableTimes", () -> transactionTemplate.executeWithoutResult(status ->
+                doctorRepository.findById(doctor.getId()).orElseThrow().getAvailableTimes().size()));
+    }
+
+    @Test
+    void loginLookupsUseIndexes() {
+        assertIndexed("findByEmail", () -> patientRepository.findByEmail("plan.patient@example.com"));
+        assertIndexed("existsByEmail", () -> patientRepository.existsByEmail("plan.patient@example.com"));
+        assertIndexed("existsByPhoneNumber", () -> patientRepository.existsByPhoneNumber("5550009998"));
+        assertIndexed("findByUsername", () -> adminRepository.findByUsername("admin"));
+    }
+
+    @Test
+    void everyRepositoryQueryIsCoveredOrExempt() {
+        appointmentQueriesUseIndexes();
+        doctorQueriesUseIndexes();
+        loginLookupsUseIndexes();
+
+        Set<String> declared = new TreeSet<>();
+        for (Class<?> repository : List.of(AppointmentRepository.class, AppointmentBatchRepository.class,
+                DoctorRepository.class, PatientRepository.class, AdminRepository.class)) {
+            for (Method method : repository.getDeclaredMethods()) {
+                if (!method.isDefault() && !Modifier.isStatic(method.getModifiers())) {
+                    declared.add(method.getName());
+                }
+            }
+        }
+        Set<String> uncovered = new TreeSet<>(declared);
+        uncovered.removeAll(checked);
+        uncovered.removeAll(SCANS_BY_DESIGN.keySet());
+        assertEquals(Set.of(), uncovered, "Add a plan check or a SCANS_BY_DESIGN entry");
+    }
+
+    private void assertIndexed(String name, Runnable query) {
+        Recorder.statements.clear();
+        query.run();
+        List<String> statements = new ArrayList<>(Recorder.statements);
+        assertFalse(statements.isEmpty(), name + " issued no SQL");
+
+        for (String sql : statements) {
+            String verb = sql.trim().toLowerCase();
+            if (!verb.startsWith("select") && !verb.startsWith("update") && !verb.startsWith("delete")) {
+                continue;
+            }
+            String plan = explain(sql);
+            assertFalse(plan.contains("tableScan"), name + " scans a table:\n" + plan);
+        }
+        checked.add(name);
+    }
+
+    // Parameters are bound as NULL: H2 plans the statement before looking at values
+    private String explain(String sql) {
+        return jdbcTemplate.query("EXPLAIN " + sql, ps -> {
+            int count = ps.getParameterMetaData().getParameterCount();
+            for (int i = 1; i <= count; i++) {
+                ps.setObject(i, null);
+            }
+        }, rs -> {
+            StringBuilder plan = new StringBuilder();
+            while (rs.next()) {
+                plan.append(rs.getString(1)).append('\n');
+            }
+            return plan.toString();
+        });
+    }
+}
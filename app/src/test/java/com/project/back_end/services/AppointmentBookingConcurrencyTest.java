@@ -0,0 +1,150 @@
+package com.project.back_end.services;
+
+import com.project.back_end.models.Appointment;
+import com.project.back_end.models.AvailableTime;
+import com.project.back_end.models.Doctor;
+import com.project.back_end.models.Patient;
+import com.project.back_end.repo.AppointmentRepository;
+import com.project.back_end.repo.DoctorRepository;
+import com.project.back_end.repo.PatientRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static com.project.back_end.TestFixtures.appointment;
+import static com.project.back_end.TestFixtures.doctor;
+import static com.project.back_end.TestFixtures.patient;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class AppointmentBookingConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int ATTEMPTS = 4000;
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private DoctorService doctorService;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Test
+    void concurrentBookingsNeverDoubleBookASlot() throws Exception {
+        List<LocalTime> hotSlots = List.of(LocalTime.of(9, 0), LocalTime.of(10, 0), LocalTime.of(11, 0));
+        Doctor doctor = doctorRepository.save(newDoctor(hotSlots, "Dr. Hot Slot", "hot.slot@example.com"));
+        Patient patient = patientRepository.save(patient("Busy Patient", "busy.patient@example.com"));
+        LocalDate date = LocalDate.now().plusDays(7);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger booked = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int i = 0; i < ATTEMPTS; i++) {
+            LocalDateTime slot = date.atTime(hotSlots.get(i % hotSlots.size()));
+            futures.add(executor.submit(() -> {
+                start.await();
+                int result = appointmentService.bookAppointment(appointment(doctor, patient, slot), patient.getId());
+                if (result == 1) {
+                    booked.incrementAndGet();
+                } else if (result == -2) {
+                    conflicts.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+
+        long startNanos = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        long elapsedMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+        executor.shutdown();
+
+        System.out.printf("Booked %d, rejected %d of %d attempts in %d ms (%d attempts/s)%n",
+                booked.get(), conflicts.get(), ATTEMPTS, elapsedMillis, ATTEMPTS * 1000L / elapsedMillis);
+
+        Map<LocalDateTime, Long> rowsPerSlot = appointmentRepository.findAll().stream()
+                .filter(appointment -> appointment.getDoctor().getId().equals(doctor.getId()))
+                .collect(Collectors.groupingBy(Appointment::getAppointmentTime, Collectors.counting()));
+
+        assertEquals(hotSlots.size(), booked.get());
+        assertEquals(ATTEMPTS - hotSlots.size(), conflicts.get());
+        assertEquals(hotSlots.size(), rowsPerSlot.size());
+        rowsPerSlot.values().forEach(count -> assertEquals(1L, count));
+    }
+
+    @Test
+    void onlyTheSlotKeyCountsAsAConflict() {
+        Doctor doctor = doctorRepository.save(newDoctor(List.of(LocalTime.of(9, 0), LocalTime.of(10, 0)),
+                "Dr. Constraint", "constraint.doctor@example.com"));
+        Patient patient = patientRepository.save(patient("Busy Patient", "constraint.patient@example.com"));
+        LocalDateTime nine = LocalDate.now().plusDays(8).atTime(9, 0);
+
+        // Another instance books 9:00 after this one cached the day as free
+        assertEquals(1, doctorService.validateSlot(doctor.getId(), nine));
+        appointmentRepository.saveAndFlush(appointment(doctor, patient, nine));
+        assertEquals(-2, appointmentService.bookAppointment(appointment(doctor, patient, nine), patient.getId()));
+
+        // A foreign key failure is an error, not "slot already booked"
+        Patient missing = patient("Busy Patient", "missing.patient@example.com");
+        missing.setId(Long.MAX_VALUE);
+        assertEquals(0, appointmentService.bookAppointment(
+                appointment(doctor, missing, nine.plusHours(1)), missing.getId()));
+    }
+
+    @Test
+    void movingOntoABookedSlotIsAConflict() {
+        List<LocalTime> slots = List.of(LocalTime.of(9, 0), LocalTime.of(10, 0), LocalTime.of(11, 0));
+        Doctor doctor = doctorRepository.save(newDoctor(slots, "Dr. Move", "move.doctor@example.com"));
+        Patient patient = patientRepository.save(patient("Busy Patient", "move.patient@example.com"));
+        LocalDateTime nine = LocalDate.now().plusDays(9).atTime(9, 0);
+        assertEquals(1, appointmentService.bookAppointment(appointment(doctor, patient, nine), patient.getId()));
+        Appointment ten = appointment(doctor, patient, nine.plusHours(1));
+        assertEquals(1, appointmentService.bookAppointment(ten, patient.getId()));
+
+        assertEquals(HttpStatus.CONFLICT,
+                appointmentService.updateAppointment(moved(ten, nine), patient.getId()).getStatusCode());
+
+        // 11:00 is booked by another instance after this one cached the day: only the unique key catches it
+        appointmentRepository.saveAndFlush(appointment(doctor, patient, nine.plusHours(2)));
+        assertEquals(HttpStatus.CONFLICT,
+                appointmentService.updateAppointment(moved(ten, nine.plusHours(2)), patient.getId()).getStatusCode());
+
+        assertEquals(nine.plusHours(1), appointmentRepository.findById(ten.getId()).orElseThrow().getAppointmentTime());
+    }
+
+    private static Appointment moved(Appointment appointment, LocalDateTime time) {
+        Appointment update = appointment(appointment.getDoctor(), appointment.getPatient(), time);
+        update.setId(appointment.getId());
+        return update;
+    }
+
+    private static Doctor newDoctor(List<LocalTime> slots, String name, String email) {
+        return doctor(name, email, "Cardiologist", slots.stream().map(AvailableTime::new).toArray(AvailableTime[]::new));
+    }
+}
@@ -0,0 +1,111 @@
+package com.project.back_end.services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.back_end.models.Doctor;
+import com.project.back_end.models.Patient;
+import com.project.back_end.repo.AppointmentRepository;
+import com.project.back_end.repo.DoctorRepository;
+import com.project.back_end.repo.PatientRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.project.back_end.TestFixtures.doctor;
+import static com.project.back_end.TestFixtures.patient;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class AppointmentExportTest {
+
+    private static final LocalDateTime FIRST = LocalDate.now().plusDays(1).atTime(9, 0);
+
+    @Autowired
+    private AppointmentExportService appointmentExportService;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void writesOneJsonObjectPerAppointmentInTimeOrder() throws IOException {
+        Long patientId = seedPatient("ndjson", "Ndjson Patient", 1200);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long written = appointmentExportService.exportPatientAppointments(
+            patientId, AppointmentExportService.Format.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(1200, written);
+        assertEquals(1200, lines.length);
+        LocalDateTime previous = null;
+        for (String line : lines) {
+            JsonNode row = objectMapper.readTree(line);
+            assertEquals(patientId.longValue(), row.get("patientId").asLong());
+            assertEquals("Dr. Export ndjson", row.get("doctorName").asText());
+            LocalDateTime time = LocalDateTime.parse(row.get("appointmentTime").asText());
+            assertFalse(previous != null && time.isBefore(previous));
+            previous = time;
+        }
+    }
+
+    @Test
+    void quotesCsvFieldsAndFiltersByRange() throws IOException {
+        Long patientId = seedPatient("csv", "Doe, \"Jo\"", 3);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        appointmentExportService.exportAppointmentsBetween(FIRST.plusHours(1), FIRST.plusHours(2),
+            AppointmentExportService.Format.CSV, out);
+
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines()
+            .filter(line -> line.startsWith("id,") || line.contains("," + patientId + ","))
+            .toList();
+        // Only the 10:00 appointment falls in [10:00, 11:00)
+        assertEquals(2, lines.size());
+        assertTrue(lines.get(1).contains("," + FIRST.plusHours(1) + ","));
+        assertEquals("id,appointmentTime,status,doctorId,doctorName,patientId,patientName,patientEmail,"
+            + "patientPhone,patientAddress", lines.get(0));
+        assertTrue(lines.get(1).contains(",\"Doe, \"\"Jo\"\"\",csv@example.com,5550003333,\"1 Main St, Apt 2\""));
+    }
+
+    @Test
+    void neutralisesSpreadsheetFormulas() {
+        assertEquals("'=SUM(A1)", AppointmentExportService.csvField("=SUM(A1)"));
+        assertEquals("plain", AppointmentExportService.csvField("plain"));
+        assertEquals("", AppointmentExportService.csvField(null));
+    }
+
+    private Long seedPatient(String key, String name, int appointments) {
+        Doctor doctor = doctorRepository.save(
+                doctor("Dr. Export " + key, key + ".export.doctor@example.com", "Export"));
+        Patient patient = patientRepository.save(
+                patient(name, key + "@example.com", "5550003333", "1 Main St, Apt 2"));
+
+        List<LocalDateTime> times = new ArrayList<>();
+        for (int i = 0; i < appointments; i++) {
+            times.add(FIRST.plusHours(i));
+        }
+        appointmentRepository.insertScheduledBatch(doctor.getId(), patient.getId(), times);
+        return patient.getId();
+    }
+}
@@ -0,0 +1,90 @@
+package com.project.back_end.services;
+
+import com.project.back_end.repo.AppointmentRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.*;
+import java.util.BitSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class BookedSlotIndexTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 2);
+    private static final LocalDateTime NINE = TODAY.atTime(9, 0);
+    private static final LocalDateTime TEN = TODAY.atTime(10, 0);
+
+    private final AppointmentRepository repository = mock(AppointmentRepository.class);
+    private final MutableClock clock = new MutableClock(TODAY.atTime(8, 0).toInstant(ZoneOffset.UTC));
+    private final BookedSlotIndex index = new BookedSlotIndex(repository, clock.withZone(ZoneOffset.UTC));
+
+    @Test
+    void loadsADayOnceOnFirstUse() {
+        stored(1L, NINE);
+
+        assertTrue(index.isBooked(1L, NINE));
+        assertFalse(index.isBooked(1L, TEN));
+        assertEquals(1, index.bookedSlots(1L, TODAY).cardinality());
+        verify(repository, times(1)).findAppointmentTimesByDoctorIdAndAppointmentTimeBetween(eq(1L), any(), any());
+    }
+
+    @Test
+    void marksApplyCopyOnWriteToLoadedDaysOnly() {
+        stored(1L, NINE);
+        BitSet before = index.bookedSlots(1L, TODAY);
+
+        // Outside a transaction AfterCommit runs straight away
+        index.markBooked(1L, TEN);
+        assertTrue(index.isBooked(1L, TEN));
+        assertFalse(before.get(BookedSlotIndex.slot(TEN.toLocalTime())), "readers keep their snapshot");
+
+        index.markFree(1L, NINE);
+        assertFalse(index.isBooked(1L, NINE));
+
+        // A day nobody asked for is not loaded just to be updated
+        index.markBooked(2L, TEN);
+        verify(repository, never()).findAppointmentTimesByDoctorIdAndAppointmentTimeBetween(eq(2L), any(), any());
+        verify(repository, times(1)).findAppointmentTimesByDoctorIdAndAppointmentTimeBetween(eq(1L), any(), any());
+    }
+
+    @Test
+    void aLoadOverlappingAChangeIsNotCached() {
+        // The booking commits while the query is running; the query did not see it
+        when(repository.findAppointmentTimesByDoctorIdAndAppointmentTimeBetween(eq(1L), any(), any()))
+                .thenAnswer(invocation -> {
+                    index.markBooked(1L, TEN);
+                    return List.of(NINE);
+                })
+                .thenReturn(List.of(NINE, TEN));
+
+        assertFalse(index.isBooked(1L, TEN));
+        // The stale result was not kept, so the next read loads again and sees the booking
+        assertTrue(index.isBooked(1L, TEN));
+        assertTrue(index.isBooked(1L, TEN));
+        verify(repository, times(2)).findAppointmentTimesByDoctorIdAndAppointmentTimeBetween(eq(1L), any(), any());
+    }
+
+    @Test
+    void pastDatesAreDroppedOnceTheDayTurns() {
+        stored(1L, NINE);
+        index.bookedSlots(1L, TODAY);
+        index.bookedSlots(1L, TODAY);
+
+        clock.advance(Duration.ofDays(1));
+        index.bookedSlots(1L, TODAY.plusDays(1));
+        index.bookedSlots(1L, TODAY);
+
+        // Yesterday's bitset was evicted, so it had to be loaded again
+        verify(repository, times(2)).findAppointmentTimesByDoctorIdAndAppointmentTimeBetween(
+                1L, TODAY.atStartOfDay(), TODAY.atTime(LocalTime.MAX));
+    }
+
+    private void stored(Long doctorId, LocalDateTime... times) {
+        when(repository.findAppointmentTimesByDoctorIdAndAppointmentTimeBetween(eq(doctorId), any(), any()))
+                .thenReturn(List.of(times));
+    }
+}
@@ -0,0 +1,46 @@
+package com.project.back_end.services;
+
+import com.project.back_end.models.AvailableTime;
+import com.project.back_end.models.ScheduleException;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompiledScheduleTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2030, 1, 1).with(TemporalAdjusters.nextOrSame(DayOfWeek.MONDAY));
+
+    @Test
+    void expandsWeekdayIntervalsAndEveryDaySlots() {
+        CompiledSchedule schedule = CompiledSchedule.compile(List.of(
+                new AvailableTime(DayOfWeek.MONDAY, LocalTime.of(9, 0), LocalTime.of(12, 0)),
+                new AvailableTime(LocalTime.of(14, 0))), null);
+
+        assertArrayEquals(new int[] {540, 600, 660, 840}, schedule.slotsOn(MONDAY));
+        assertArrayEquals(new int[] {840}, schedule.slotsOn(MONDAY.plusDays(1)));
+        assertTrue(schedule.offers(MONDAY.atTime(10, 0)));
+        assertFalse(schedule.offers(MONDAY.atTime(12, 0)));
+        assertFalse(schedule.offers(MONDAY.atTime(10, 30)));
+        assertTrue(schedule.offersAm());
+        assertTrue(schedule.offersPm());
+    }
+
+    @Test
+    void dateExceptionsReplaceTheWeeklySchedule() {
+        CompiledSchedule schedule = CompiledSchedule.compile(
+                List.of(new AvailableTime(null, LocalTime.of(9, 0), LocalTime.of(11, 0))),
+                List.of(new ScheduleException(MONDAY, null, null),
+                        new ScheduleException(MONDAY.plusDays(1), LocalTime.of(16, 0), LocalTime.of(17, 0))));
+
+        assertEquals(0, schedule.slotsOn(MONDAY).length);
+        assertArrayEquals(new int[] {960}, schedule.slotsOn(MONDAY.plusDays(1)));
+        assertArrayEquals(new int[] {540, 600}, schedule.slotsOn(MONDAY.plusDays(2)));
+        assertFalse(schedule.offersPm());
+    }
+}
@@ -0,0 +1,138 @@
+package com.project.back_end.services;
+
+import com.project.back_end.controllers.DoctorController;
+import com.project.back_end.models.AvailableTime;
+import com.project.back_end.models.Doctor;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static com.project.back_end.TestFixtures.doctor;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SuppressWarnings("unchecked")
+class DoctorFilterTest {
+
+    private static final String SPECIALTY = "Filterology";
+
+    @Autowired
+    private Service service;
+
+    @Autowired
+    private DoctorService doctorService;
+
+    @Autowired
+    private DoctorController doctorController;
+
+    @BeforeAll
+    void seed() {
+        save("Dr. Morning Filter", "morning.filter@example.com",
+                new AvailableTime(null, LocalTime.of(9, 0), LocalTime.of(11, 0)));
+        save("Dr. Evening Filter", "evening.filter@example.com",
+                new AvailableTime(null, LocalTime.of(14, 0), LocalTime.of(16, 0)));
+        save("Dr. Allday Filter", "allday.filter@example.com",
+                new AvailableTime(null, LocalTime.of(11, 0), LocalTime.of(13, 0)));
+        save("Dr. Single Filter", "single.filter@example.com",
+                new AvailableTime(LocalTime.of(12, 0)));
+        // Not hour-aligned: one 11:30 slot, no slot at all, and 10:30, 11:30 and 12:30
+        save("Dr. Halfpast Filter", "halfpast.filter@example.com",
+                new AvailableTime(null, LocalTime.of(11, 30), LocalTime.of(13, 0)));
+        save("Dr. Stub Filter", "stub.filter@example.com",
+                new AvailableTime(null, LocalTime.of(11, 30), LocalTime.of(12, 0)));
+        save("Dr. Wide Filter", "wide.filter@example.com",
+                new AvailableTime(null, LocalTime.of(10, 30), LocalTime.of(13, 45)));
+    }
+
+    @Test
+    void combinesSpecialtyAndTimeInOneQuery() {
+        assertEquals(Set.of("Dr. Morning Filter", "Dr. Allday Filter", "Dr. Halfpast Filter", "Dr. Wide Filter"),
+                names(service.filterDoctor(null, SPECIALTY, "AM")));
+        assertEquals(Set.of("Dr. Evening Filter", "Dr. Allday Filter", "Dr. Single Filter", "Dr. Wide Filter"),
+                names(service.filterDoctor(null, SPECIALTY, "pm")));
+        assertEquals(Set.of(), names(service.filterDoctor(null, SPECIALTY, "noon")));
+    }
+
+    @Test
+    void nameFilterIsCaseInsensitiveSubstring() {
+        assertEquals(Set.of("Dr. Evening Filter"), names(service.filterDoctor("EVENING", SPECIALTY, null)));
+        assertEquals(Set.of("Dr. Allday Filter"), names(service.filterDoctor("allday", "", "AM")));
+        assertEquals(Set.of(), names(service.filterDoctor("allday", SPECIALTY, "nope")));
+        assertEquals(Set.of(), names(service.filterDoctor("nobody by this name", null, null)));
+    }
+
+    @Test
+    void matchesTheCompiledScheduleFlags() {
+        List<?> doctors = (List<?>) service.filterDoctor("filter", SPECIALTY, null).get("doctors");
+        assertEquals(7, doctors.size());
+        Set<String> am = new HashSet<>();
+        Set<String> pm = new HashSet<>();
+        for (Object o : doctors) {
+            Doctor doctor = (Doctor) o;
+            CompiledSchedule schedule = CompiledSchedule.compile(doctor.getAvailableTimes(), null);
+            if (schedule.offersAm()) {
+                am.add(doctor.getName());
+            }
+            if (schedule.offersPm()) {
+                pm.add(doctor.getName());
+            }
+        }
+        assertEquals(am, names(service.filterDoctor(null, SPECIALTY, "AM")));
+        assertEquals(pm, names(service.filterDoctor(null, SPECIALTY, "PM")));
+    }
+
+    @Test
+    void catalogAgreesWithTheSqlQuery() {
+        String[][] filters = {
+                {null, SPECIALTY, null}, {null, SPECIALTY, "AM"}, {null, SPECIALTY, "PM"},
+                {"filter", null, "AM"}, {"evening", SPECIALTY, "PM"}, {null, "filterOLOGY", "pm"},
+                {null, "Nobody", null}, {"single", null, "nope"},
+                {"halfpast", null, "AM"}, {"halfpast", null, "PM"}, {"stub", null, "AM"}, {"stub", null, "PM"},
+                {"wide", SPECIALTY, "AM"}, {"wide", SPECIALTY, "PM"}};
+        for (String[] f : filters) {
+            Map<String, Object> inMemory = doctorService.filterDoctorsInMemory(f[0], f[1], f[2]);
+            assertNotNull(inMemory);
+            assertEquals(names(doctorService.filterDoctors(f[0], f[1], f[2])), names(inMemory), Arrays.toString(f));
+        }
+    }
+
+    @Test
+    void catalogFollowsDeletes() {
+        save("Dr. Shortlived Filter", "shortlived.filter@example.com",
+                new AvailableTime(null, LocalTime.of(8, 0), LocalTime.of(9, 0)));
+        assertEquals(Set.of("Dr. Shortlived Filter"), names(service.filterDoctor("shortlived", null, "AM")));
+
+        Long id = ((List<Doctor>) service.filterDoctor("shortlived", null, null).get("doctors")).get(0).getId();
+        assertEquals(1, doctorService.deleteDoctor(id));
+        assertEquals(Set.of(), names(service.filterDoctor("shortlived", null, null)));
+        assertEquals(7, names(service.filterDoctor(null, SPECIALTY, null)).size());
+    }
+
+    @Test
+    void controllerPassesPathFiltersInOrder() {
+        // The path is /filter/{name}/{time}/{speciality}; the frontend sends "null" for an empty filter
+        assertEquals(Set.of("Dr. Evening Filter", "Dr. Allday Filter", "Dr. Single Filter", "Dr. Wide Filter"),
+                names(doctorController.filter("null", "PM", SPECIALTY).getBody()));
+        assertEquals(Set.of("Dr. Morning Filter"), names(doctorController.filter("morning", "null", "null").getBody()));
+    }
+
+    private void save(String name, String email, AvailableTime time) {
+        assertEquals(1, doctorService.saveDoctor(doctor(name, email, SPECIALTY, time)));
+    }
+
+    private static Set<String> names(Map<String, Object> response) {
+        return ((List<Doctor>) response.get("doctors")).stream()
+                .map(Doctor::getName)
+                .collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,58 @@
+package com.project.back_end.services;
+
+import com.project.back_end.repo.DoctorRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DoctorNameIndexTest {
+
+    private DoctorNameIndex index;
+
+    @BeforeEach
+    void setUp() {
+        DoctorRepository repository = mock(DoctorRepository.class);
+        when(repository.findAllIdsAndNames()).thenReturn(List.of(
+                new Object[]{1L, "Dr. Emily Adams"},
+                new Object[]{2L, "Dr. Mark Johnson"},
+                new Object[]{3L, "Dr. Sarah Lee"}));
+        index = new DoctorNameIndex(repository);
+        index.rebuild();
+    }
+
+    @Test
+    void matchesSubstringsIgnoringCase() {
+        assertTrue(index.isReady());
+        assertEquals(Set.of(2L), index.search("JOHN"));
+        assertEquals(Set.of(1L, 2L, 3L), index.search("dr."));
+        assertEquals(Set.of(), index.search("smith"));
+    }
+
+    @Test
+    void trigramsMustAppearContiguously() {
+        // "ams" and "ada" both occur in "adams" but "amsada" does not
+        assertEquals(Set.of(), index.search("amsada"));
+    }
+
+    @Test
+    void shortQueriesScanNames() {
+        assertEquals(Set.of(3L), index.search("le"));
+        assertEquals(Set.of(1L, 2L, 3L), index.search(""));
+    }
+
+    @Test
+    void followsRenamesAndDeletes() {
+        index.put(3L, "Dr. Sarah Connor");
+        assertEquals(Set.of(), index.search("lee"));
+        assertEquals(Set.of(3L), index.search("connor"));
+
+        index.remove(2L);
+        assertEquals(Set.of(), index.search("johnson"));
+    }
+}
@@ -0,0 +1,64 @@
+package com.project.back_end.services;
+
+import com.project.back_end.models.Doctor;
+import com.project.back_end.repo.DoctorRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.*;
+
+import static com.project.back_end.TestFixtures.doctor;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class DoctorPageTest {
+
+    @Autowired
+    private DoctorService doctorService;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Test
+    void walksEveryDoctorOnceInNameOrder() {
+        // Duplicate names exercise the id tie-breaker
+        for (int i = 0; i < 23; i++) {
+            doctorRepository.save(
+                    doctor("Dr. Page " + (char) ('A' + i % 7), "page" + i + "@example.com", "Pagination"));
+        }
+
+        List<Doctor> expected = new ArrayList<>(doctorRepository.findAll());
+        expected.sort(Comparator.comparing(Doctor::getName).thenComparing(Doctor::getId));
+
+        assertEquals(ids(expected), ids(walk("name")));
+        assertEquals(doctorRepository.findAll().stream().map(Doctor::getId).sorted().toList(), ids(walk("id")));
+    }
+
+    @Test
+    void rejectsMalformedCursors() {
+        assertThrows(IllegalArgumentException.class, () -> doctorService.getDoctorPage("id", "not a cursor", 5));
+        assertThrows(IllegalArgumentException.class, () -> doctorService.getDoctorPage("email", null, 5));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Doctor> walk(String sort) {
+        List<Doctor> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            Map<String, Object> page = doctorService.getDoctorPage(sort, cursor, 5);
+            List<Doctor> doctors = (List<Doctor>) page.get("doctors");
+            assertTrue(doctors.size() <= 5);
+            doctors.forEach(doctor -> assertNotNull(doctor.getAvailableTimes().get(0)));
+            seen.addAll(doctors);
+            cursor = (String) page.get("nextCursor");
+        } while (cursor != null);
+        return seen;
+    }
+
+    private static List<Long> ids(List<Doctor> doctors) {
+        return doctors.stream().map(Doctor::getId).toList();
+    }
+}
@@ -0,0 +1,90 @@
+package com.project.back_end.services;
+
+import com.project.back_end.repo.DoctorRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DoctorSuggestionIndexTest {
+
+    private DoctorSuggestionIndex index;
+
+    @BeforeEach
+    void setUp() {
+        DoctorRepository repository = mock(DoctorRepository.class);
+        when(repository.findAllIdsNamesAndSpecialties()).thenReturn(List.of(
+                new Object[]{1L, "Dr. Emily Adams", "Cardiologist"},
+                new Object[]{2L, "Dr. Mark Johnson", "Neurologist"},
+                new Object[]{3L, "Dr. Sarah Lee", "Cardiologist"},
+                new Object[]{4L, "Dr. Carl Adamson", "Dermatologist"}));
+        index = new DoctorSuggestionIndex(repository);
+        index.rebuild();
+    }
+
+    @Test
+    void specialtiesRankByDoctorCountBeforeNames() {
+        List<Map<String, Object>> suggestions = index.suggest("CAR", 5);
+        assertEquals(List.of("Cardiologist", "Dr. Carl Adamson"), values(suggestions));
+        assertEquals(2, suggestions.get(0).get("doctors"));
+        assertEquals(4L, suggestions.get(1).get("id"));
+    }
+
+    @Test
+    void namesMatchAtAnyWordStart() {
+        assertEquals(List.of("Dr. Emily Adams", "Dr. Carl Adamson"), values(index.suggest("adam", 5)));
+        assertEquals(List.of("Dr. Emily Adams"), values(index.suggest("adam", 1)));
+        assertEquals(List.of(), values(index.suggest("dams", 5)));
+        assertEquals(4, index.suggest("dr.", 10).size());
+    }
+
+    @Test
+    void followsSavesAndDeletes() {
+        index.put(5L, "Dr. Ada Lovelace", "Neurologist");
+        assertEquals(List.of("Dr. Ada Lovelace", "Dr. Emily Adams", "Dr. Carl Adamson"), values(index.suggest("ada", 5)));
+        assertEquals(2, index.suggest("neuro", 5).get(0).get("doctors"));
+
+        index.remove(1L);
+        index.remove(4L);
+        assertEquals(List.of("Dr. Ada Lovelace"), values(index.suggest("ada", 5)));
+        assertEquals(List.of(), values(index.suggest("derm", 5)));
+
+        // Renaming replaces every key of the old name
+        index.put(3L, "Dr. Sarah Connor", "Cardiologist");
+        assertEquals(List.of(), values(index.suggest("lee", 5)));
+        assertEquals(List.of("Dr. Sarah Connor"), values(index.suggest("conn", 5)));
+    }
+
+    @Test
+    void trieSplitsAndMergesEdges() {
+        RadixTrie<Integer> trie = new RadixTrie<>();
+        trie.add("romane", 1);
+        trie.add("romanus", 2);
+        trie.add("romulus", 3);
+        trie.add("rom", 4);
+        assertEquals(List.of(4, 1, 2, 3), collect(trie, "r"));
+        assertEquals(List.of(1, 2), collect(trie, "roma"));
+
+        trie.remove("rom", 4);
+        trie.remove("romanus", 2);
+        assertEquals(List.of(1, 3), collect(trie, "ro"));
+        assertEquals(List.of(1), collect(trie, "romane"));
+        assertEquals(List.of(), collect(trie, "romanes"));
+    }
+
+    private static List<Integer> collect(RadixTrie<Integer> trie, String prefix) {
+        List<Integer> values = new ArrayList<>();
+        trie.visit(prefix, values::add);
+        return values;
+    }
+
+    private static List<Object> values(List<Map<String, Object>> suggestions) {
+        return suggestions.stream().map(s -> s.get("value")).toList();
+    }
+}
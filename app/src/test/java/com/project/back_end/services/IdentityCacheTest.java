@@ -0,0 +1,98 @@
+package com.project.back_end.services;
+
+import com.project.back_end.DTO.AuthPrincipal;
+import com.project.back_end.models.Doctor;
+import com.project.back_end.repo.DoctorRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class IdentityCacheTest {
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-03-01T10:00:00Z"));
+
+    @Test
+    void entriesExpireAfterTheTtl() {
+        IdentityCache cache = cache(300, 100);
+        cache.put(new AuthPrincipal("doctor", 1L, "doc@example.com"));
+
+        clock.advance(Duration.ofSeconds(299));
+        assertEquals(1L, cache.get("DOCTOR", "doc@example.com").getId());
+
+        clock.advance(Duration.ofSeconds(1));
+        assertNull(cache.get("doctor", "doc@example.com"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void aFullCacheEvictsTheEntriesClosestToExpiry() {
+        IdentityCache cache = cache(300, 10);
+        for (long id = 1; id <= 100; id++) {
+            cache.put(new AuthPrincipal("patient", id, "p" + id + "@example.com"));
+            clock.advance(Duration.ofMillis(10));
+            assertTrue(cache.size() <= 10);
+        }
+        assertEquals(90, cache.evictions());
+        // Still cached on the way in, rather than skipped once the cache is full
+        assertEquals(100L, cache.get("patient", "p100@example.com").getId());
+    }
+
+    @Test
+    void evictRemovesOnlyThatAccount() {
+        IdentityCache cache = cache(300, 100);
+        cache.put(new AuthPrincipal("doctor", 1L, "a@example.com"));
+        cache.put(new AuthPrincipal("patient", 2L, "a@example.com"));
+
+        cache.evict("doctor", "a@example.com");
+        assertNull(cache.get("doctor", "a@example.com"));
+        assertNotNull(cache.get("patient", "a@example.com"));
+    }
+
+    @Test
+    void doctorUpdateEvictsTheOldEmailOnlyOnceCommitted() {
+        IdentityCache cache = cache(300, 100);
+        cache.put(new AuthPrincipal("doctor", 7L, "old@example.com"));
+
+        DoctorRepository doctors = mock(DoctorRepository.class);
+        Doctor stored = new Doctor();
+        stored.setId(7L);
+        stored.setEmail("old@example.com");
+        when(doctors.findById(7L)).thenReturn(Optional.of(stored));
+        when(doctors.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        DoctorService service = new DoctorService(doctors, null, null, cache, null, null,
+            mock(ScheduleRegistry.class), mock(DoctorNameIndex.class), mock(DoctorSuggestionIndex.class),
+            mock(DoctorCatalog.class));
+
+        Doctor renamed = new Doctor();
+        renamed.setId(7L);
+        renamed.setEmail("new@example.com");
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            assertEquals(1, service.updateDoctor(renamed));
+            // Still inside the transaction: a reader may yet see the old row
+            assertNotNull(cache.get("doctor", "old@example.com"));
+
+            TransactionSynchronizationUtils.triggerAfterCommit();
+            assertNull(cache.get("doctor", "old@example.com"));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private IdentityCache cache(long ttlSeconds, int maxEntries) {
+        IdentityCache cache = new IdentityCache(clock);
+        ReflectionTestUtils.setField(cache, "ttlSeconds", ttlSeconds);
+        ReflectionTestUtils.setField(cache, "maxEntries", maxEntries);
+        cache.init();
+        return cache;
+    }
+}
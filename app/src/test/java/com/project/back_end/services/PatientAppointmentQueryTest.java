@@ -0,0 +1,132 @@
+package com.project.back_end.services;
+
+import com.project.back_end.DTO.AppointmentDTO;
+import com.project.back_end.models.Doctor;
+import com.project.back_end.models.Patient;
+import com.project.back_end.repo.AppointmentRepository;
+import com.project.back_end.repo.DoctorRepository;
+import com.project.back_end.repo.PatientRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static com.project.back_end.TestFixtures.doctor;
+import static com.project.back_end.TestFixtures.patient;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class PatientAppointmentQueryTest {
+
+    @Autowired
+    private PatientService patientService;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void statementCountDoesNotGrowWithResultSize() {
+        Long few = seedPatient("few", 1);
+        Long many = seedPatient("many", 40);
+
+        List<Function<Long, ResponseEntity<Map<String, Object>>>> listings = List.of(
+                id -> patientService.getPatientAppointment(id, id, null, 100),
+                id -> patientService.filterByCondition("future", id, null, 100),
+                id -> patientService.filterByDoctor("listing", id, null, 100),
+                id -> patientService.filterByDoctorAndCondition("future", "listing", id, null, 100));
+
+        for (Function<Long, ResponseEntity<Map<String, Object>>> listing : listings) {
+            assertEquals(1, countStatements(() -> assertSize(listing.apply(few), 1)));
+            assertEquals(1, countStatements(() -> assertSize(listing.apply(many), 40)));
+        }
+    }
+
+    @Test
+    void projectsDoctorAndPatientColumns() {
+        Long patientId = seedPatient("columns", 2);
+        @SuppressWarnings("unchecked")
+        List<AppointmentDTO> appointments = (List<AppointmentDTO>) patientService
+                .getPatientAppointment(patientId, patientId, null, 20).getBody().get("appointments");
+
+        AppointmentDTO first = appointments.get(0);
+        assertEquals("Dr. Listing columns", first.getDoctorName());
+        assertEquals("Listing columns", first.getPatientName());
+        assertEquals("columns@example.com", first.getPatientEmail());
+        assertEquals("5550001111", first.getPatientPhone());
+        assertEquals("3 Main St", first.getPatientAddress());
+        assertEquals(first.getAppointmentTime().plusHours(1), first.getEndTime());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void pagesThroughHistoryInTimeOrder() {
+        Long patientId = seedPatient("paged", 23);
+        List<AppointmentDTO> expected = (List<AppointmentDTO>) patientService
+                .getPatientAppointment(patientId, patientId, null, 100).getBody().get("appointments");
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            Map<String, Object> page = patientService.filterByCondition("future", patientId, cursor, 5).getBody();
+            List<AppointmentDTO> rows = (List<AppointmentDTO>) page.get("appointments");
+            assertTrue(rows.size() <= 5);
+            rows.forEach(row -> seen.add(row.getId()));
+            cursor = (String) page.get("nextCursor");
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(5, pages);
+        assertEquals(expected.stream().map(AppointmentDTO::getId).toList(), seen);
+        assertEquals(HttpStatus.BAD_REQUEST,
+                patientService.filterByDoctor("listing", patientId, "garbage", 5).getStatusCode());
+    }
+
+    private long countStatements(Runnable call) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        call.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void assertSize(ResponseEntity<Map<String, Object>> response, int expected) {
+        assertEquals(expected, ((List<AppointmentDTO>) response.getBody().get("appointments")).size());
+    }
+
+    private Long seedPatient(String key, int appointments) {
+        Doctor doctor = doctorRepository.save(doctor("Dr. Listing " + key, key + ".doctor@example.com", "Listing"));
+        Patient patient = patientRepository.save(
+                patient("Listing " + key, key + "@example.com", "5550001111", "3 Main St"));
+
+        List<LocalDateTime> times = new ArrayList<>();
+        for (int i = 0; i < appointments; i++) {
+            times.add(LocalDate.now().plusDays(i + 1).atTime(9, 0));
+        }
+        appointmentRepository.insertScheduledBatch(doctor.getId(), patient.getId(), times);
+        return patient.getId();
+    }
+}
@@ -0,0 +1,68 @@
+package com.project.back_end.services;
+
+import com.project.back_end.models.Prescription;
+import com.project.back_end.repo.PrescriptionRepository;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class PrescriptionBatchLookupTest {
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void groupsPrescriptionsByAppointmentInOneQuery() {
+        PrescriptionRepository repository = mock(PrescriptionRepository.class);
+        Prescription first = prescriptionFor(10L);
+        Prescription second = prescriptionFor(10L);
+        Prescription third = prescriptionFor(12L);
+        when(repository.findByAppointmentIdIn(any())).thenReturn(List.of(first, second, third));
+
+        Map<Long, List<Prescription>> grouped = (Map<Long, List<Prescription>>) service(repository)
+                .getPrescriptions(List.of(10L, 11L, 12L)).getBody().get("prescriptions");
+
+        assertEquals(List.of(10L, 11L, 12L), new ArrayList<>(grouped.keySet()));
+        assertEquals(List.of(first, second), grouped.get(10L));
+        assertEquals(List.of(), grouped.get(11L));
+        assertEquals(List.of(third), grouped.get(12L));
+        verify(repository, times(1)).findByAppointmentIdIn(any());
+    }
+
+    @Test
+    void emptyRequestSkipsTheQuery() {
+        PrescriptionRepository repository = mock(PrescriptionRepository.class);
+        service(repository).getPrescriptions(List.of());
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void appointmentIdIndexIsDeclared() {
+        List<String> names = new ArrayList<>();
+        for (IndexDefinition definition :
+                new MongoPersistentEntityIndexResolver(new MongoMappingContext()).resolveIndexFor(Prescription.class)) {
+            assertEquals(1, definition.getIndexKeys().getInteger("appointmentId"));
+            names.add(definition.getIndexOptions().getString("name"));
+        }
+        assertEquals(List.of("idx_appointment_id"), names);
+    }
+
+    private static PrescriptionService service(PrescriptionRepository repository) {
+        return new PrescriptionService(repository, Validation.buildDefaultValidatorFactory().getValidator(),
+                new PrescriptionWriteBehind(repository), new PrescriptionCache());
+    }
+
+    private static Prescription prescriptionFor(Long appointmentId) {
+        Prescription prescription = mock(Prescription.class);
+        when(prescription.getAppointmentId()).thenReturn(appointmentId);
+        return prescription;
+    }
+}
@@ -0,0 +1,66 @@
+package com.project.back_end.services;
+
+import com.project.back_end.models.Prescription;
+import com.project.back_end.repo.PrescriptionRepository;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class PrescriptionBulkWriteTest {
+
+    private final PrescriptionRepository repository = mock(PrescriptionRepository.class);
+    private final PrescriptionService service =
+            new PrescriptionService(repository, Validation.buildDefaultValidatorFactory().getValidator(),
+                    new PrescriptionWriteBehind(repository), new PrescriptionCache());
+
+    @Test
+    void writesAllValidItemsInOneBulkInsert() {
+        when(repository.insertUnordered(any())).thenReturn(Map.of());
+        List<Prescription> prescriptions = List.of(prescription(1L), prescription(2L), prescription(3L));
+
+        ResponseEntity<Map<String, Object>> response = service.savePrescriptions(prescriptions);
+
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertEquals(3L, response.getBody().get("created"));
+        verify(repository, times(1)).insertUnordered(prescriptions);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void reportsInvalidAndRejectedItemsAtTheirRequestPosition() {
+        Prescription invalid = prescription(2L);
+        invalid.setPatientName(null);
+        Prescription duplicate = prescription(3L);
+        List<Prescription> prescriptions = List.of(prescription(1L), invalid, duplicate, prescription(4L));
+        // The bulk write only sees the three valid items; its index 1 is request item 2
+        when(repository.insertUnordered(List.of(prescriptions.get(0), duplicate, prescriptions.get(3))))
+                .thenReturn(Map.of(1, "E11000 duplicate key"));
+
+        ResponseEntity<Map<String, Object>> response = service.savePrescriptions(prescriptions);
+
+        assertEquals(HttpStatus.MULTI_STATUS, response.getStatusCode());
+        List<Map<String, Object>> results = (List<Map<String, Object>>) response.getBody().get("results");
+        assertEquals(List.of("created", "invalid", "failed", "created"),
+                results.stream().map(result -> result.get("status")).toList());
+        assertEquals("patientName: Patient name cannot be null", results.get(1).get("error"));
+        assertEquals("E11000 duplicate key", results.get(2).get("error"));
+        assertEquals(2L, response.getBody().get("failed"));
+    }
+
+    private static Prescription prescription(Long appointmentId) {
+        Prescription prescription = new Prescription();
+        prescription.setPatientName("Bulk Patient");
+        prescription.setAppointmentId(appointmentId);
+        prescription.setMedication("Amoxicillin");
+        prescription.setDosage("500mg");
+        return prescription;
+    }
+}
@@ -0,0 +1,105 @@
+package com.project.back_end.services;
+
+import com.project.back_end.models.Prescription;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrescriptionCacheTest {
+
+    @Test
+    void loadsOnceThenServesHits() {
+        PrescriptionCache cache = cache(100, 1 << 20);
+        AtomicInteger loads = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(1, cache.get(5L, () -> {
+                loads.incrementAndGet();
+                return List.of(prescription(5L, "Amoxicillin"));
+            }).size());
+        }
+
+        assertEquals(1, loads.get());
+        assertEquals(2L, cache.stats().get("hits"));
+        assertEquals(1L, cache.stats().get("misses"));
+    }
+
+    @Test
+    void invalidationDuringALoadKeepsTheStaleResultOut() {
+        PrescriptionCache cache = cache(100, 1 << 20);
+
+        List<Prescription> stale = cache.get(5L, () -> {
+            // A save for this appointment lands while the read is in progress
+            cache.invalidate(5L);
+            return List.of();
+        });
+        assertEquals(List.of(), stale);
+
+        List<Prescription> fresh = cache.get(5L, () -> List.of(prescription(5L, "Amoxicillin")));
+        assertEquals(1, fresh.size());
+        assertEquals(1, cache.get(5L, List::of).size());
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedByCountAndByBytes() {
+        PrescriptionCache byCount = cache(2, 1 << 20);
+        byCount.get(1L, List::of);
+        byCount.get(2L, List::of);
+        byCount.get(1L, List::of);
+        byCount.get(3L, List::of);
+        // 2 was the least recently used
+        assertEquals("Reloaded",
+                byCount.get(2L, () -> List.of(prescription(2L, "Reloaded"))).get(0).getMedication());
+        assertEquals(2, byCount.stats().get("entries"));
+        assertEquals(2L, byCount.stats().get("evictions"));
+
+        List<Prescription> large = List.of(prescription(9L, "x".repeat(400)));
+        long budget = PrescriptionCache.estimateBytes(large) * 2;
+        PrescriptionCache byBytes = cache(100, budget);
+        for (long id = 1; id <= 5; id++) {
+            long appointmentId = id;
+            byBytes.get(appointmentId, () -> List.of(prescription(appointmentId, "x".repeat(400))));
+        }
+        assertEquals(2, byBytes.stats().get("entries"));
+        assertTrue((long) byBytes.stats().get("estimatedBytes") <= budget);
+    }
+
+    @Test
+    void batchLookupLoadsOnlyTheMisses() {
+        PrescriptionCache cache = cache(100, 1 << 20);
+        cache.get(1L, () -> List.of(prescription(1L, "Cached")));
+
+        List<Set<Long>> requested = new ArrayList<>();
+        Map<Long, List<Prescription>> result = cache.getAll(List.of(1L, 2L, 3L), missing -> {
+            requested.add(Set.copyOf(missing));
+            return List.of(prescription(3L, "Loaded"));
+        });
+
+        assertEquals(List.of(Set.of(2L, 3L)), requested);
+        assertEquals(List.of(1L, 2L, 3L), new ArrayList<>(result.keySet()));
+        assertEquals("Cached", result.get(1L).get(0).getMedication());
+        assertEquals(List.of(), result.get(2L));
+        assertEquals("Loaded", result.get(3L).get(0).getMedication());
+        // Empty results are cached too
+        cache.getAll(List.of(2L, 3L), missing -> fail("should be cached"));
+    }
+
+    private static PrescriptionCache cache(int maxEntries, long maxBytes) {
+        PrescriptionCache cache = new PrescriptionCache();
+        ReflectionTestUtils.setField(cache, "maxEntries", maxEntries);
+        ReflectionTestUtils.setField(cache, "maxBytes", maxBytes);
+        return cache;
+    }
+
+    private static Prescription prescription(Long appointmentId, String medication) {
+        Prescription prescription = new Prescription();
+        prescription.setPatientName("Cached Patient");
+        prescription.setAppointmentId(appointmentId);
+        prescription.setMedication(medication);
+        return prescription;
+    }
+}
@@ -0,0 +1,89 @@
+package com.project.back_end.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.back_end.config.PrescriptionIdCallback;
+import com.project.back_end.models.Prescription;
+import com.project.back_end.repo.PrescriptionRepository;
+import jakarta.validation.Validation;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class PrescriptionIdTest {
+
+    @Test
+    void assignedIdsAreTimeOrdered() {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            ids.add(PrescriptionIdCallback.assignId(new Prescription()).getId());
+        }
+        for (int i = 1; i < ids.size(); i++) {
+            assertTrue(ids.get(i - 1).compareTo(ids.get(i)) < 0);
+        }
+
+        Prescription prescription = PrescriptionIdCallback.assignId(new Prescription());
+        Instant createdAt = prescription.getCreatedAt();
+        assertTrue(Math.abs(createdAt.getEpochSecond() - Instant.now().getEpochSecond()) <= 1);
+        // An id the document already has is kept
+        String id = prescription.getId();
+        assertEquals(id, PrescriptionIdCallback.assignId(prescription).getId());
+    }
+
+    @Test
+    void rangeBoundsBracketIdsCreatedInThatSecond() {
+        Instant second = Instant.parse("2026-03-01T10:15:30Z");
+        ObjectId created = new ObjectId(java.util.Date.from(second));
+
+        assertTrue(PrescriptionService.firstIdAt(second).compareTo(created) <= 0);
+        assertTrue(PrescriptionService.firstIdAt(second.plusSeconds(1)).compareTo(created) > 0);
+        assertEquals(second, PrescriptionService.firstIdAt(second).getDate().toInstant());
+    }
+
+    @Test
+    void clientsCannotChooseTheId() throws Exception {
+        ObjectMapper mapper = new ObjectMapper().findAndRegisterModules();
+        Prescription read = mapper.readValue(
+            "{\"id\":\"000000000000000000000001\",\"patientName\":\"Jane\",\"appointmentId\":1}", Prescription.class);
+        assertNull(read.getId());
+
+        PrescriptionIdCallback.assignId(read);
+        assertTrue(mapper.writeValueAsString(read).contains("\"id\":\"" + read.getId() + "\""));
+    }
+
+    @Test
+    void createdBetweenPagesByIdCursor() {
+        PrescriptionRepository repository = mock(PrescriptionRepository.class);
+        List<Prescription> stored = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            stored.add(PrescriptionIdCallback.assignId(new Prescription()));
+        }
+        when(repository.findCreatedBetween(any(), any(), any(), any())).thenReturn(stored);
+        PrescriptionService service = new PrescriptionService(repository,
+            Validation.buildDefaultValidatorFactory().getValidator(),
+            new PrescriptionWriteBehind(repository), new PrescriptionCache());
+
+        Instant from = Instant.parse("2026-03-01T00:00:00Z");
+        Instant to = Instant.parse("2026-03-02T00:00:00Z");
+        Map<String, Object> page = service.getPrescriptionsCreatedBetween(from, to, null, 2);
+
+        assertEquals(stored.subList(0, 2), page.get("prescriptions"));
+        assertEquals(stored.get(1).getId(), page.get("nextCursor"));
+        // One extra row tells whether there is another page
+        verify(repository).findCreatedBetween(eq(PrescriptionService.firstIdAt(from)),
+            eq(PrescriptionService.firstIdAt(to)), eq(new ObjectId("000000000000000000000000")),
+            eq(Pageable.ofSize(3)));
+
+        assertThrows(IllegalArgumentException.class,
+            () -> service.getPrescriptionsCreatedBetween(from, to, "not-an-id", 2));
+    }
+}
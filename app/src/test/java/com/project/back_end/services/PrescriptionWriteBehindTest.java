@@ -0,0 +1,173 @@
+package com.project.back_end.services;
+
+import com.project.back_end.models.Prescription;
+import com.project.back_end.repo.PrescriptionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PrescriptionWriteBehindTest {
+
+    private final PrescriptionRepository repository = mock(PrescriptionRepository.class);
+    // What "Mongo" holds, and the size of every bulk write it received
+    private final List<Prescription> stored = new CopyOnWriteArrayList<>();
+    private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+    private final CountDownLatch firstFlushEntered = new CountDownLatch(1);
+    private final CountDownLatch releaseFirstFlush = new CountDownLatch(1);
+    private PrescriptionWriteBehind writeBehind;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        releaseFirstFlush.countDown();
+        writeBehind.stop();
+    }
+
+    @Test
+    void coalescesQueuedSavesIntoOneBulkWrite() throws Exception {
+        start(100, 50);
+        CompletableFuture<Void> first = writeBehind.submit(prescription(1L));
+        assertTrue(firstFlushEntered.await(5, TimeUnit.SECONDS));
+
+        // These queue up behind the blocked first flush and go out together
+        List<CompletableFuture<Void>> rest = new ArrayList<>();
+        for (long i = 2; i <= 31; i++) {
+            rest.add(writeBehind.submit(prescription(i)));
+        }
+        releaseFirstFlush.countDown();
+
+        first.get(5, TimeUnit.SECONDS);
+        CompletableFuture.allOf(rest.toArray(new CompletableFuture[0])).get(5, TimeUnit.SECONDS);
+        assertEquals(List.of(1, 30), batchSizes);
+        assertEquals(31, stored.size());
+    }
+
+    @Test
+    void readsSeeQueuedAndInFlightWritesExactlyOnce() throws Exception {
+        start(100, 50);
+        Prescription inFlight = prescription(7L);
+        writeBehind.submit(inFlight);
+        assertTrue(firstFlushEntered.await(5, TimeUnit.SECONDS));
+        Prescription queued = prescription(8L);
+        writeBehind.submit(queued);
+
+        // Still queued: served from memory without waiting for the flusher
+        assertEquals(List.of(queued), writeBehind.read(List.of(8L), () -> storedFor(8L)));
+
+        // Being written: the read waits for the flush instead of risking a miss or a duplicate
+        Future<List<Prescription>> read = Executors.newSingleThreadExecutor()
+                .submit(() -> writeBehind.read(List.of(7L), () -> storedFor(7L)));
+        releaseFirstFlush.countDown();
+        assertEquals(List.of(inFlight), read.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void submitsRacingTheFlusherOnOneAppointmentStayReadable() throws Exception {
+        // One prescription per batch, so the flusher keeps emptying the appointment's pending list
+        // while submits add to it. A stress check: a lost update shows up only now and then
+        start(1, 0);
+        releaseFirstFlush.countDown();
+        Set<Prescription> written = ConcurrentHashMap.newKeySet();
+        when(repository.insertUnordered(anyList())).thenAnswer(invocation -> {
+            written.addAll(invocation.getArgument(0));
+            return Map.of();
+        });
+
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<Integer>> misses = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            misses.add(executor.submit(() -> {
+                int missed = 0;
+                for (int i = 0; i < 25_000; i++) {
+                    Prescription prescription = prescription(5L);
+                    if (writeBehind.submit(prescription) == null) {
+                        continue;
+                    }
+                    // Read-your-writes: queued, being written or written, but never missing
+                    List<Prescription> read = writeBehind.read(List.of(5L),
+                            () -> written.contains(prescription) ? List.of(prescription) : List.of());
+                    if (!read.contains(prescription)) {
+                        missed++;
+                    }
+                }
+                return missed;
+            }));
+        }
+        for (Future<Integer> missed : misses) {
+            assertEquals(0, missed.get(60, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+    }
+
+    @Test
+    void rejectedItemsFailTheirOwnFuture() throws Exception {
+        start(100, 50);
+        releaseFirstFlush.countDown();
+        when(repository.insertUnordered(anyList())).thenReturn(Map.of(0, "E11000 duplicate key"));
+
+        CompletableFuture<Void> rejected = writeBehind.submit(prescription(3L));
+        ExecutionException error = assertThrows(ExecutionException.class, () -> rejected.get(5, TimeUnit.SECONDS));
+        assertEquals("E11000 duplicate key", error.getCause().getMessage());
+        assertEquals(List.of(), writeBehind.read(List.of(3L), List::of));
+    }
+
+    @Test
+    void shutdownDrainsTheQueueAndStopsAccepting() throws Exception {
+        // A window far longer than the test: only the drain can flush these
+        start(100, 60_000);
+        releaseFirstFlush.countDown();
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (long i = 1; i <= 20; i++) {
+            futures.add(writeBehind.submit(prescription(i)));
+        }
+        // Let the flusher take them and start waiting out its window
+        Thread.sleep(200);
+
+        writeBehind.stop();
+
+        futures.forEach(future -> assertTrue(future.isDone() && !future.isCompletedExceptionally()));
+        assertEquals(20, stored.size());
+        assertNull(writeBehind.submit(prescription(21L)));
+    }
+
+    private void start(int batchSize, long windowMillis) {
+        when(repository.insertUnordered(anyList())).thenAnswer(invocation -> {
+            List<Prescription> batch = invocation.getArgument(0);
+            if (firstFlushEntered.getCount() > 0) {
+                firstFlushEntered.countDown();
+                releaseFirstFlush.await();
+            }
+            batchSizes.add(batch.size());
+            stored.addAll(batch);
+            return Map.of();
+        });
+        writeBehind = new PrescriptionWriteBehind(repository);
+        ReflectionTestUtils.setField(writeBehind, "enabled", true);
+        ReflectionTestUtils.setField(writeBehind, "queueCapacity", 1000);
+        ReflectionTestUtils.setField(writeBehind, "batchSize", batchSize);
+        ReflectionTestUtils.setField(writeBehind, "windowMillis", windowMillis);
+        ReflectionTestUtils.setField(writeBehind, "drainTimeoutSeconds", 5L);
+        writeBehind.start();
+    }
+
+    private List<Prescription> storedFor(Long appointmentId) {
+        return stored.stream().filter(p -> appointmentId.equals(p.getAppointmentId())).toList();
+    }
+
+    private static Prescription prescription(Long appointmentId) {
+        Prescription prescription = new Prescription();
+        prescription.setPatientName("Queued Patient");
+        prescription.setAppointmentId(appointmentId);
+        prescription.setMedication("Ibuprofen");
+        prescription.setDosage("200mg");
+        return prescription;
+    }
+}
@@ -0,0 +1,128 @@
+package com.project.back_end.services;
+
+import com.project.back_end.models.Appointment;
+import com.project.back_end.models.AvailableTime;
+import com.project.back_end.models.Doctor;
+import com.project.back_end.models.Patient;
+import com.project.back_end.repo.AppointmentRepository;
+import com.project.back_end.repo.DoctorRepository;
+import com.project.back_end.repo.PatientRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static com.project.back_end.TestFixtures.appointment;
+import static com.project.back_end.TestFixtures.doctor;
+import static com.project.back_end.TestFixtures.patient;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class RecurringBookingTest {
+
+    private static final LocalTime SLOT = LocalTime.of(9, 0);
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Test
+    void seriesWithOneTakenSlotBooksNothing() {
+        Doctor doctor = doctorRepository.save(
+                doctor("Dr. Series", "series.doctor@example.com", "Physiotherapist", new AvailableTime(SLOT)));
+        Patient patient = patientRepository.save(patient("Series Patient", "series.patient@example.com"));
+        List<LocalDateTime> weekly = series(LocalDate.now().plusDays(1), 7, 12);
+
+        assertEquals(1, appointmentService.bookAppointment(appointment(doctor, patient, weekly.get(5)), patient.getId()));
+
+        assertEquals(HttpStatus.CONFLICT,
+                appointmentService.bookRecurring(doctor.getId(), patient.getId(), weekly).getStatusCode());
+        assertEquals(1, countFor(doctor));
+
+        List<LocalDateTime> free = series(LocalDate.now().plusDays(2), 7, 12);
+        assertEquals(HttpStatus.CREATED,
+                appointmentService.bookRecurring(doctor.getId(), patient.getId(), free).getStatusCode());
+        assertEquals(13, countFor(doctor));
+    }
+
+    @Test
+    void batchedSeriesInsertsEveryRow() {
+        Doctor doctor = doctorRepository.save(
+                doctor("Dr. Series", "rows.doctor@example.com", "Physiotherapist", new AvailableTime(SLOT)));
+        Patient patient = patientRepository.save(patient("Series Patient", "rows.patient@example.com"));
+        List<LocalDateTime> daily = series(LocalDate.now().plusDays(1), 1, 60);
+
+        assertEquals(HttpStatus.CREATED,
+                appointmentService.bookRecurring(doctor.getId(), patient.getId(), daily).getStatusCode());
+
+        List<Appointment> rows = appointmentRepository.findAll().stream()
+                .filter(appointment -> appointment.getDoctor().getId().equals(doctor.getId()))
+                .toList();
+        assertEquals(Set.copyOf(daily), rows.stream().map(Appointment::getAppointmentTime).collect(Collectors.toSet()));
+        assertEquals(daily.size(), rows.size());
+        rows.forEach(row -> {
+            assertEquals(patient.getId(), row.getPatient().getId());
+            assertEquals(0, row.getStatus());
+        });
+    }
+
+    // Timing comparison, run with mvn test -Pload
+    @Test
+    @Tag("load")
+    void batchedSeriesVersusSingleBookings() {
+        Doctor doctor = doctorRepository.save(
+                doctor("Dr. Series", "batch.doctor@example.com", "Physiotherapist", new AvailableTime(SLOT)));
+        Patient patient = patientRepository.save(patient("Series Patient", "batch.patient@example.com"));
+        int count = 1000;
+
+        List<LocalDateTime> singles = series(LocalDate.now().plusDays(1), 1, count);
+        long start = System.nanoTime();
+        for (LocalDateTime time : singles) {
+            assertEquals(1, appointmentService.bookAppointment(appointment(doctor, patient, time), patient.getId()));
+        }
+        long singleMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        List<LocalDateTime> batch = series(LocalDate.now().plusDays(count + 1L), 1, count);
+        start = System.nanoTime();
+        assertEquals(HttpStatus.CREATED,
+                appointmentService.bookRecurring(doctor.getId(), patient.getId(), batch).getStatusCode());
+        long batchMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        System.out.printf("%d inserts: %d ms one by one, %d ms as one batched series%n", count, singleMillis, batchMillis);
+        assertEquals(2L * count, countFor(doctor));
+    }
+
+    private long countFor(Doctor doctor) {
+        return appointmentRepository.findAll().stream()
+                .filter(appointment -> appointment.getDoctor().getId().equals(doctor.getId()))
+                .count();
+    }
+
+    private static List<LocalDateTime> series(LocalDate first, int intervalDays, int occurrences) {
+        List<LocalDateTime> times = new ArrayList<>();
+        for (int i = 0; i < occurrences; i++) {
+            times.add(first.plusDays((long) i * intervalDays).atTime(SLOT));
+        }
+        return times;
+    }
+}
@@ -0,0 +1,143 @@
+package com.project.back_end.services;
+
+import com.project.back_end.models.Appointment;
+import com.project.back_end.models.Doctor;
+import com.project.back_end.repo.AppointmentRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class SlotHoldRegistryTest {
+
+    private static final Long DOCTOR = 1L;
+    private static final Long PATIENT = 10L;
+    private static final Long OTHER_PATIENT = 11L;
+    private static final LocalDateTime NINE = LocalDateTime.of(2026, 3, 2, 9, 0);
+    private static final LocalDateTime TEN = LocalDateTime.of(2026, 3, 2, 10, 0);
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-03-01T08:00:00Z"));
+    private final SlotHoldRegistry holds = registry(120);
+
+    @Test
+    void holdExpiresAfterTheTtlAndIsSweptByTheWheel() {
+        assertTrue(holds.place(DOCTOR, NINE, PATIENT));
+
+        advance(Duration.ofSeconds(119));
+        assertTrue(holds.isHeldBy(DOCTOR, NINE, PATIENT));
+
+        advance(Duration.ofSeconds(1));
+        assertFalse(holds.isHeld(DOCTOR, NINE));
+        assertEquals(0, holds.size());
+    }
+
+    @Test
+    void holdsLongerThanOneWheelRevolutionWaitForTheirRound() {
+        SlotHoldRegistry longHolds = registry(600);
+        longHolds.place(DOCTOR, NINE, PATIENT);
+
+        // 512 one-second buckets: the hold's bucket comes round at 88 s, too early to expire it
+        for (int second = 0; second < 599; second++) {
+            clock.advance(Duration.ofSeconds(1));
+            longHolds.tick();
+        }
+        assertTrue(longHolds.isHeld(DOCTOR, NINE));
+
+        clock.advance(Duration.ofSeconds(1));
+        longHolds.tick();
+        assertEquals(0, longHolds.size());
+    }
+
+    @Test
+    void sameHolderRenewsTheHold() {
+        holds.place(DOCTOR, NINE, PATIENT);
+        advance(Duration.ofSeconds(100));
+        assertTrue(holds.place(DOCTOR, NINE, PATIENT));
+
+        // Past the first deadline: its wheel entry is swept without touching the renewal
+        advance(Duration.ofSeconds(60));
+        assertTrue(holds.isHeldBy(DOCTOR, NINE, PATIENT));
+        assertEquals(1, holds.size());
+
+        advance(Duration.ofSeconds(60));
+        assertFalse(holds.isHeld(DOCTOR, NINE));
+    }
+
+    @Test
+    void movingToAnotherSlotReleasesThePreviousOne() {
+        holds.place(DOCTOR, NINE, PATIENT);
+        assertTrue(holds.place(DOCTOR, TEN, PATIENT));
+
+        assertFalse(holds.isHeld(DOCTOR, NINE));
+        assertTrue(holds.isHeldBy(DOCTOR, TEN, PATIENT));
+        assertTrue(holds.place(DOCTOR, NINE, OTHER_PATIENT));
+    }
+
+    @Test
+    void aLiveHoldBlocksOtherPatientsUntilItExpires() {
+        holds.place(DOCTOR, NINE, PATIENT);
+
+        assertFalse(holds.place(DOCTOR, NINE, OTHER_PATIENT));
+        assertTrue(holds.isHeldByOther(DOCTOR, NINE, OTHER_PATIENT));
+        assertFalse(holds.isHeldByOther(DOCTOR, NINE, PATIENT));
+
+        advance(Duration.ofSeconds(120));
+        assertFalse(holds.isHeldByOther(DOCTOR, NINE, OTHER_PATIENT));
+        assertTrue(holds.place(DOCTOR, NINE, OTHER_PATIENT));
+    }
+
+    @Test
+    void bookingConvertsALiveHoldWithoutRevalidating() {
+        DoctorService doctorService = mock(DoctorService.class);
+        when(doctorService.validateSlot(anyLong(), any(), any())).thenReturn(1);
+        AppointmentService appointments = new AppointmentService(mock(AppointmentRepository.class), null,
+                mock(BookedSlotIndex.class), doctorService, new SlotLocks(16), holds,
+                mock(PlatformTransactionManager.class));
+
+        holds.place(DOCTOR, NINE, PATIENT);
+        assertEquals(1, appointments.bookAppointment(appointment(NINE), PATIENT));
+        verify(doctorService, never()).validateSlot(anyLong(), any(), any());
+        assertFalse(holds.isHeld(DOCTOR, NINE), "the hold is released once booked");
+
+        // Without a hold the slot is validated as usual
+        assertEquals(1, appointments.bookAppointment(appointment(TEN), PATIENT));
+        verify(doctorService).validateSlot(DOCTOR, TEN, PATIENT);
+
+        // An expired hold is no shortcut either
+        holds.place(DOCTOR, NINE.plusHours(3), PATIENT);
+        advance(Duration.ofSeconds(120));
+        appointments.bookAppointment(appointment(NINE.plusHours(3)), PATIENT);
+        verify(doctorService).validateSlot(DOCTOR, NINE.plusHours(3), PATIENT);
+    }
+
+    private SlotHoldRegistry registry(long ttlSeconds) {
+        SlotHoldRegistry registry = new SlotHoldRegistry(clock);
+        ReflectionTestUtils.setField(registry, "ttlSeconds", ttlSeconds);
+        return registry;
+    }
+
+    // Moves time a second at a time, running the wheel as the ticker thread would
+    private void advance(Duration duration) {
+        for (long second = 0; second < duration.toSeconds(); second++) {
+            clock.advance(Duration.ofSeconds(1));
+            holds.tick();
+        }
+    }
+
+    private static Appointment appointment(LocalDateTime time) {
+        Doctor doctor = new Doctor();
+        doctor.setId(DOCTOR);
+        Appointment appointment = new Appointment();
+        appointment.setDoctor(doctor);
+        appointment.setAppointmentTime(time);
+        return appointment;
+    }
+}
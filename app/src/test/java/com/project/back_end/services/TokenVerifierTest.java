@@ -0,0 +1,61 @@
+package com.project.back_end.services;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenVerifierTest {
+
+    private static final String SECRET = "test-secret-test-secret-test-secret-0123";
+    private static final Instant NOW = Instant.parse("2026-03-01T10:00:00Z");
+
+    private final MutableClock clock = new MutableClock(NOW);
+
+    @Test
+    void cachedTokenStopsBeingServedAtItsExpiry() {
+        TokenVerifier verifier = new TokenVerifier(SECRET, 100, clock);
+        String token = token("doctor@example.com", NOW.plusSeconds(60));
+
+        assertEquals("doctor@example.com", verifier.verify(token).getSubject());
+        assertEquals(1, verifier.size());
+        clock.advance(Duration.ofSeconds(59));
+        assertEquals("doctor@example.com", verifier.verify(token).getSubject());
+
+        clock.advance(Duration.ofSeconds(2));
+        assertThrows(ExpiredJwtException.class, () -> verifier.verify(token));
+        assertEquals(0, verifier.size());
+    }
+
+    @Test
+    void sizeStaysWithinTheBound() {
+        TokenVerifier verifier = new TokenVerifier(SECRET, 50, clock);
+        for (int i = 0; i < 500; i++) {
+            verifier.verify(token("user" + i + "@example.com", NOW.plusSeconds(3600 + i)));
+            assertTrue(verifier.size() <= 50);
+        }
+        assertEquals(50, verifier.size());
+    }
+
+    @Test
+    void zeroEntriesDisablesTheCache() {
+        TokenVerifier verifier = new TokenVerifier(SECRET, 0, clock);
+        verifier.verify(token("patient@example.com", NOW.plusSeconds(60)));
+        assertEquals(0, verifier.size());
+    }
+
+    private static String token(String subject, Instant expiration) {
+        return Jwts.builder()
+                .subject(subject)
+                .issuedAt(Date.from(NOW))
+                .expiration(Date.from(expiration))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                .compact();
+    }
+}